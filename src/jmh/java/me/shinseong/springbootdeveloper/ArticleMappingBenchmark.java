@@ -0,0 +1,100 @@
+package me.shinseong.springbootdeveloper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.dto.ArticleListViewResponse;
+import me.shinseong.springbootdeveloper.dto.ArticleResponse;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 글 DTO 변환과 Jackson 직렬화 비용. 본문 길이(contentLength)별로, 목록은 기본 페이지 크기(20)로 잰다
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ArticleMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"500", "4000", "20000"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+    private Article article;
+    private ArticleResponse articleResponse;
+    private List<ArticleSummary> summaries;
+    private List<ArticleListViewResponse> listViewResponses;
+
+    @Setup
+    public void setUp() {
+        // 스프링 부트 기본 설정과 같게 날짜를 문자열로 쓴다
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        article = Article.builder()
+                .title("스프링 부트 3와 JPA로 블로그 만들기")
+                .content(content(contentLength))
+                .author("benchmark.user@gmail.com")
+                .build();
+        articleResponse = new ArticleResponse(article);
+
+        summaries = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            summaries.add(new ArticleSummary(id, "글 제목 " + id, "benchmark.user@gmail.com", now.minusMinutes(id),
+                    content(Math.min(contentLength, ArticleSummary.EXCERPT_LENGTH))));
+        }
+        listViewResponses = summaries.stream().map(ArticleListViewResponse::new).toList();
+    }
+
+    @Benchmark
+    public ArticleResponse mapArticleResponse() {
+        return new ArticleResponse(article);
+    }
+
+    @Benchmark
+    public List<ArticleListViewResponse> mapListViewResponses() {
+        return summaries.stream().map(ArticleListViewResponse::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeArticleResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(articleResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeListPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listViewResponses);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    // 한글/영문/공백/줄바꿈이 섞인 본문
+    private static String content(int length) {
+        String sample = "스프링 부트는 설정을 최소화해 주는 프레임워크입니다. Spring Data JPA makes repositories easy.\n";
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(sample);
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+}
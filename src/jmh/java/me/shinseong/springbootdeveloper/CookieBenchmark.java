@@ -0,0 +1,82 @@
+package me.shinseong.springbootdeveloper;
+
+import me.shinseong.springbootdeveloper.config.oauth.OAuth2AuthorizationRequestCookieCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// OAuth2 인가 요청 쿠키의 인코딩/디코딩 비용.
+// javaSerialize/javaDeserialize는 예전 CookieUtil.serialize/deserialize(자바 직렬화 + Base64)와 같은 경로(비교용)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CookieBenchmark {
+
+    private OAuth2AuthorizationRequestCookieCodec codec;
+    private OAuth2AuthorizationRequest authorizationRequest;
+    private String encoded;
+    private String serialized;
+
+    @Setup
+    public void setUp() {
+        codec = new OAuth2AuthorizationRequestCookieCodec("");
+
+        // 구글 로그인 시 스프링 시큐리티가 만드는 것과 같은 구성 (state, nonce, PKCE 포함)
+        Map<String, Object> additionalParameters = new LinkedHashMap<>();
+        additionalParameters.put("nonce", "Xq3l0b3b7yW8m2CkQ5N0pVxP8lQ1Jr4a0o6c9KXb1zE");
+        additionalParameters.put("code_challenge", "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM");
+        additionalParameters.put("code_challenge_method", "S256");
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("registration_id", "google");
+        attributes.put("nonce", "g7kR2uQ4vLm9sN1pT6wY3zB8cD5fH0jK2lM4nP6qR8s");
+        attributes.put("code_verifier", "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk0a9b8c7d6e5f4g3h2i1j0");
+
+        authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("123456789012-abcdefghijklmnopqrstuvwxyz012345.apps.googleusercontent.com")
+                .redirectUri("http://localhost:8080/login/oauth2/code/google")
+                .scopes(Set.of("openid", "email", "profile"))
+                .state("kP3mW9xQ2rT7vY1zA5cE8gJ0lN4oS6uX-bD2fH5jK8m=")
+                .additionalParameters(additionalParameters)
+                .attributes(attributes)
+                .build();
+
+        encoded = codec.encode(authorizationRequest);
+        serialized = Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+        System.out.printf("%ncookie length: codec=%d, java serialization=%d%n", encoded.length(), serialized.length());
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return codec.encode(authorizationRequest);
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest codecDecode() {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public String javaSerialize() {
+        return Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object javaDeserialize() {
+        return SerializationUtils.deserialize(Base64.getUrlDecoder().decode(serialized));
+    }
+}
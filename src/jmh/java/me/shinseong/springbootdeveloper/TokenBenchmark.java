@@ -0,0 +1,83 @@
+package me.shinseong.springbootdeveloper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import me.shinseong.springbootdeveloper.config.jwt.JwtClaims;
+import me.shinseong.springbootdeveloper.config.jwt.JwtProperties;
+import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Field;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// TokenProvider의 발급/검증/인증 객체 생성 비용. jjwtParse는 JwtCodec 이전의 파싱 경로(비교용)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private JwtProperties jwtProperties;
+    private TokenProvider tokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        jwtProperties = new JwtProperties();
+        jwtProperties.setIssuer("ajufresh@gmail.com");
+        jwtProperties.setSecretKey(Base64.getEncoder().encodeToString(secret));
+        tokenProvider = new TokenProvider(jwtProperties);
+
+        user = User.builder()
+                .email("benchmark.user@gmail.com")
+                .nickname("benchmark")
+                .build();
+        Field id = User.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(user, 12345L);
+
+        token = tokenProvider.generateToken(user, Duration.ofDays(1));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user, Duration.ofDays(1));
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return tokenProvider.validToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims parseClaims() {
+        return tokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Claims jjwtParse() {
+        return Jwts.parser()
+                .setSigningKey(jwtProperties.getSecretKey())
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,144 @@
+package me.shinseong.springbootdeveloper.loadtest;
+
+import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.repository.UserRepository;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// 부하 테스트용 데이터를 H2에 JDBC 배치로 채운다. 시드가 같으면 항상 같은 데이터가 만들어진다.
+// - 유저: 글 10개당 1명, 모두 리프레시 토큰을 가진다 (앞쪽 tokenSample명은 실제 TokenProvider로 만든 토큰)
+// - 글: 본문 길이는 중앙값 약 1,500자의 로그정규 분포 (50 ~ 50,000자), 작성 시각은 최근 1년에 고르게
+class DataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String CONTENT_SOURCE = """
+            스프링 부트는 설정을 최소화하고 바로 실행할 수 있는 애플리케이션을 만들게 해 준다. \
+            Spring Data JPA repositories derive queries from method names and keep the data layer thin. \
+            캐시는 읽기가 많은 글 조회에서 DB 부하를 크게 줄인다. Tokens are verified once and then cached. \
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenProvider tokenProvider;
+    private final UserRepository userRepository;
+    private final SplittableRandom random;
+
+    DataGenerator(JdbcTemplate jdbcTemplate, TokenProvider tokenProvider, UserRepository userRepository, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+        this.random = new SplittableRandom(seed);
+    }
+
+    Dataset generate(int articleCount, int tokenSample) {
+        int userCount = Math.max(1, articleCount / 10);
+        long started = System.nanoTime();
+
+        insertUsers(userCount);
+        List<Dataset.SampleUser> users = insertRefreshTokens(tokenSample);
+        insertArticles(articleCount, userCount);
+
+        Long minId = jdbcTemplate.queryForObject("select min(id) from article", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from article", Long.class);
+        System.out.printf("generated %,d users, %,d articles in %d ms%n",
+                userCount, articleCount, Duration.ofNanos(System.nanoTime() - started).toMillis());
+
+        return new Dataset(articleCount, minId, maxId, users);
+    }
+
+    private void insertUsers(int userCount) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= userCount; i++) {
+            batch.add(new Object[]{email(i), "user" + i});
+            if (batch.size() == BATCH_SIZE || i == userCount) {
+                jdbcTemplate.batchUpdate("insert into users (email, nickname) values (?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 모든 유저에게 리프레시 토큰 행을 만들고, 앞쪽 tokenSample명은 원문 토큰을 기억해 /api/token 요청에 쓴다
+    private List<Dataset.SampleUser> insertRefreshTokens(int tokenSample) {
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+        long expiresAt = System.currentTimeMillis() / 1000 + Duration.ofDays(14).toSeconds();
+
+        List<Dataset.SampleUser> sample = new ArrayList<>(Math.min(tokenSample, userIds.size()));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            String refreshToken;
+            if (i < tokenSample) {
+                User user = userRepository.findById(userId).orElseThrow();
+                refreshToken = tokenProvider.generateToken(user, Duration.ofDays(14));
+                String accessToken = tokenProvider.generateToken(user, Duration.ofDays(1));
+                sample.add(new Dataset.SampleUser(userId, user.getEmail(), accessToken, refreshToken));
+            } else {
+                refreshToken = "unused-" + userId + "-" + random.nextLong();
+            }
+
+            batch.add(new Object[]{userId, TokenHashUtil.sha256(refreshToken), expiresAt});
+            if (batch.size() == BATCH_SIZE || i == userIds.size() - 1) {
+                jdbcTemplate.batchUpdate("insert into refresh_token (user_id, token_hash, expires_at) values (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return sample;
+    }
+
+    private void insertArticles(int articleCount, int userCount) {
+        LocalDateTime now = LocalDateTime.now();
+        long yearSeconds = Duration.ofDays(365).toSeconds();
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= articleCount; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextLong(yearSeconds)));
+            batch.add(new Object[]{
+                    "부하 테스트 글 " + i,
+                    content(contentLength()),
+                    email(1 + random.nextInt(userCount)),
+                    createdAt,
+                    createdAt});
+            if (batch.size() == BATCH_SIZE || i == articleCount) {
+                jdbcTemplate.batchUpdate("insert into article (id, title, content, author, created_at, updated_at, views) " +
+                        "values (next value for article_seq, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 로그정규 분포: exp(N(ln 1500, 0.9)), 50 ~ 50,000자로 자른다
+    private int contentLength() {
+        double gaussian = nextGaussian();
+        long length = Math.round(Math.exp(Math.log(1500) + 0.9 * gaussian));
+        return (int) Math.max(50, Math.min(50_000, length));
+    }
+
+    private double nextGaussian() {
+        // Box-Muller
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private String content(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        int offset = random.nextInt(CONTENT_SOURCE.length());
+        while (builder.length() < length) {
+            builder.append(CONTENT_SOURCE, offset, CONTENT_SOURCE.length());
+            offset = 0;
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    private static String email(int index) {
+        return "loadtest" + index + "@example.com";
+    }
+}
@@ -0,0 +1,10 @@
+package me.shinseong.springbootdeveloper.loadtest;
+
+import java.util.List;
+
+// 생성된 데이터에서 부하 드라이버가 요청을 만들 때 필요한 값
+record Dataset(int articleCount, long minArticleId, long maxArticleId, List<SampleUser> users) {
+
+    record SampleUser(Long id, String email, String accessToken, String refreshToken) {
+    }
+}
@@ -0,0 +1,26 @@
+package me.shinseong.springbootdeveloper.loadtest;
+
+// 부하 드라이버가 섞어서 보내는 요청 종류. 기본 비율은 읽기 위주의 블로그 트래픽을 흉내 낸다
+enum Endpoint {
+    LIST("GET /api/articles", 40),
+    DETAIL("GET /api/articles/{id}", 35),
+    PAGE("GET /articles", 10),
+    TOKEN("POST /api/token", 10),
+    WRITE("POST /api/articles", 5);
+
+    private final String label;
+    private final int defaultWeight;
+
+    Endpoint(String label, int defaultWeight) {
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,161 @@
+package me.shinseong.springbootdeveloper.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 닫힌 루프(closed-loop) 부하 드라이버. 워커 concurrency개가 응답을 받자마자 다음 요청을 보낸다.
+// 워커는 가상 스레드로 돌린다 (Java 21 미만에서 실행하면 플랫폼 스레드로 대신한다).
+// 지연 시간은 엔드포인트별 HdrHistogram Recorder에 마이크로초 단위로 기록하고, 워밍업 구간은 버린다.
+class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final Map<Endpoint, Integer> mix;
+    private final int totalWeight;
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LoadDriver(String baseUrl, Dataset dataset, Map<Endpoint, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    Map<Endpoint, Result> run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        ExecutorService executor = newWorkerExecutor(concurrency);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> work(client, measureFrom, stopAt));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+
+        Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = recorders.get(endpoint).getIntervalHistogram();
+            results.put(endpoint, new Result(histogram, errors.get(endpoint).sum(), duration));
+        }
+        return results;
+    }
+
+    private void work(HttpClient client, long measureFrom, long stopAt) {
+        while (true) {
+            Endpoint endpoint = pick();
+            HttpRequest request = request(endpoint);
+
+            long started = System.nanoTime();
+            if (started >= stopAt) {
+                return;
+            }
+            if (started < measureFrom) {
+                send(client, request); // 워밍업 구간: 보내기만 하고 기록하지 않는다
+                continue;
+            }
+
+            int status = send(client, request);
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+            recorders.get(endpoint).recordValue(Math.min(elapsedMicros, HIGHEST_TRACKABLE_MICROS));
+            if (status < 200 || status >= 400) {
+                errors.get(endpoint).increment();
+            }
+        }
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (java.io.IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private Endpoint pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Dataset.SampleUser user = dataset.users().get(random.nextInt(dataset.users().size()));
+
+        return switch (endpoint) {
+            case LIST -> get("/api/articles?limit=20", user);
+            case DETAIL -> get("/api/articles/" + random.nextLong(dataset.minArticleId(), dataset.maxArticleId() + 1), user);
+            case PAGE -> HttpRequest.newBuilder(URI.create(baseUrl + "/articles")).GET().build();
+            case TOKEN -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/token"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"" + user.refreshToken() + "\"}"))
+                    .build();
+            case WRITE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/articles"))
+                    .header("Authorization", "Bearer " + user.accessToken())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"title\":\"부하 테스트 새 글\",\"content\":\"" + "본문 ".repeat(300) + "\"}"))
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path, Dataset.SampleUser user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + user.accessToken())
+                .GET()
+                .build();
+    }
+
+    // Java 21 이상이면 가상 스레드, 아니면 워커 수만큼의 플랫폼 스레드
+    private static ExecutorService newWorkerExecutor(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("virtual threads unavailable on this JVM, using " + concurrency + " platform threads");
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    record Result(Histogram histogram, long errors, Duration duration) {
+
+        double throughput() {
+            return histogram.getTotalCount() / (duration.toMillis() / 1000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package me.shinseong.springbootdeveloper.loadtest;
+
+import me.shinseong.springbootdeveloper.SpringbootDeveloperApplication;
+import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.repository.UserRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// 엔드 투 엔드 부하 테스트. 데이터 크기마다 애플리케이션을 새로 띄우고(H2 메모리 DB), 데이터를 채운 뒤 부하를 건다.
+//
+// ./gradlew loadtest -Ploadtest.args="--articles=10000,100000,1000000 --concurrency=64 --duration=30s"
+//
+// 옵션 (모두 선택)
+//   --articles=10000,100000,1000000  데이터 크기(글 수) 목록
+//   --concurrency=64                 동시에 요청을 보내는 워커 수
+//   --warmup=10s --duration=30s      워밍업(기록 안 함) / 측정 시간
+//   --mix=LIST:40,DETAIL:35,PAGE:10,TOKEN:10,WRITE:5
+//   --tokens=1000                    실제 토큰을 발급해 둘 유저 수
+//   --seed=42 --out=build/results/loadtest
+//
+// 결과: 콘솔 표, <out>/summary.csv(누적), <out>/<글 수>-<엔드포인트>.hgrm(백분위 분포, ms)
+// 클라이언트와 서버가 한 JVM에서 CPU를 나눠 쓰므로 절대값보다 데이터 크기/변경 전후 비교에 쓴다.
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        int[] sizes = Arrays.stream(options.getOrDefault("articles", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        Duration warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        Map<Endpoint, Integer> mix = parseMix(options.get("mix"));
+        int tokens = Integer.parseInt(options.getOrDefault("tokens", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path out = Path.of(options.getOrDefault("out", "build/results/loadtest"));
+        Files.createDirectories(out);
+
+        for (int size : sizes) {
+            run(size, concurrency, warmup, duration, mix, tokens, seed, out);
+        }
+    }
+
+    private static void run(int articles, int concurrency, Duration warmup, Duration duration,
+                            Map<Endpoint, Integer> mix, int tokens, long seed, Path out) throws Exception {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        try (ConfigurableApplicationContext context = new SpringApplication(SpringbootDeveloperApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest" + articles + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--jwt.issuer=loadtest",
+                "--jwt.secret-key=" + Base64.getEncoder().encodeToString(secret),
+                "--blog.rate-limit.enabled=false", // 모든 요청이 한 IP에서 나가므로 끈다
+                "--spring.security.oauth2.client.registration.google.client-id=loadtest",
+                "--spring.security.oauth2.client.registration.google.client-secret=loadtest",
+                "--spring.security.oauth2.client.registration.google.scope=email,profile")) {
+
+            DataGenerator generator = new DataGenerator(context.getBean(JdbcTemplate.class),
+                    context.getBean(TokenProvider.class), context.getBean(UserRepository.class), seed);
+            Dataset dataset = generator.generate(articles, tokens);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, dataset, mix);
+            Map<Endpoint, LoadDriver.Result> results = driver.run(concurrency, warmup, duration);
+
+            report(articles, concurrency, results, out);
+        }
+    }
+
+    private static void report(int articles, int concurrency, Map<Endpoint, LoadDriver.Result> results, Path out)
+            throws IOException {
+        System.out.printf("%n== %,d articles, %d workers ==%n", articles, concurrency);
+        System.out.printf("%-24s %10s %10s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+
+        Path summary = out.resolve("summary.csv");
+        if (Files.notExists(summary)) {
+            Files.writeString(summary, "articles,concurrency,endpoint,requests,throughput,p50_ms,p99_ms,p999_ms,max_ms,errors\n");
+        }
+
+        StringBuilder csv = new StringBuilder();
+        for (Map.Entry<Endpoint, LoadDriver.Result> entry : results.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            LoadDriver.Result result = entry.getValue();
+            if (result.histogram().getTotalCount() == 0) {
+                continue;
+            }
+
+            double max = result.histogram().getMaxValue() / 1000.0;
+            System.out.printf("%-24s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                    endpoint.label(), result.histogram().getTotalCount(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                    max, result.errors());
+            csv.append(String.format(Locale.ROOT, "%d,%d,%s,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d%n",
+                    articles, concurrency, endpoint.name(), result.histogram().getTotalCount(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                    max, result.errors()));
+
+            try (PrintStream hgrm = new PrintStream(
+                    Files.newOutputStream(out.resolve(articles + "-" + endpoint.name().toLowerCase() + ".hgrm")))) {
+                result.histogram().outputPercentileDistribution(hgrm, 1000.0); // 마이크로초 -> ms
+            }
+        }
+        Files.writeString(summary, csv, StandardOpenOption.APPEND);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("expected --name=value but was " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        if (mix == null) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                weights.put(endpoint, endpoint.defaultWeight());
+            }
+            return weights;
+        }
+
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = Integer.parseInt(pair[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(pair[0].toUpperCase()), weight);
+            }
+        }
+        return weights;
+    }
+}
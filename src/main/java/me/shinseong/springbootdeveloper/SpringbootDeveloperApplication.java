@@ -3,7 +3,9 @@ package me.shinseong.springbootdeveloper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling // 조회수 반영 등 주기 작업
 @EnableJpaAuditing
 @SpringBootApplication
 public class SpringbootDeveloperApplication {
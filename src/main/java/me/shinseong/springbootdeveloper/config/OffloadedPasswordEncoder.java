@@ -0,0 +1,46 @@
+package me.shinseong.springbootdeveloper.config;
+
+import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.exception.PasswordHashingRejectedException;
+import me.shinseong.springbootdeveloper.service.PasswordHasher;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// 비밀번호 로그인(DaoAuthenticationProvider)용 인코더. 검증과 재해시는 PasswordHasher의 제한된 실행기에서 돌고
+// 요청 스레드는 결과만 기다린다. 실행기가 가득 차면 InternalAuthenticationServiceException으로 바로 실패한다
+// (다른 AuthenticationProvider로 넘어가지 않고, 실패 핸들러가 원인을 보고 503으로 응답한다).
+@RequiredArgsConstructor
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordHasher passwordHasher;
+    private final PasswordEncoder encoder; // upgradeEncoding 판단용 (cost 비교라 CPU를 쓰지 않는다)
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(passwordHasher.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(passwordHasher.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PasswordHashingRejectedException rejected) {
+                throw new InternalAuthenticationServiceException(rejected.getMessage(), rejected);
+            }
+            throw e;
+        }
+    }
+}
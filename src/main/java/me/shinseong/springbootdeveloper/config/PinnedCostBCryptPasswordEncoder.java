@@ -0,0 +1,59 @@
+package me.shinseong.springbootdeveloper.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+// 설정(blog.password.cost)으로 고정한 cost를 쓰는 BCrypt 인코더.
+// 저장된 해시의 cost가 이보다 낮을 때만 upgradeEncoding이 true를 돌려 로그인 성공 시 다시 해시된다.
+// 더 높은 cost의 해시는 낮추지 않는다. 기동할 때 재 본 권장 cost는 로그로만 알려 준다.
+@Slf4j
+@Getter
+public class PinnedCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public PinnedCostBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    // 해시 한 번이 목표 시간에 가까운 cost를 재서 설정값과 다르면 로그로 권한다.
+    // cost가 1 오를 때마다 시간이 두 배가 되므로 최소 cost로 한 번 재 보고 나머지는 계산으로 정한다.
+    public static int recommendCost(int configuredCost, Duration target, int minCost, int maxCost) {
+        BCrypt.hashpw("calibration", BCrypt.gensalt(minCost)); // JIT 워밍업
+
+        long started = System.nanoTime();
+        BCrypt.hashpw("calibration", BCrypt.gensalt(minCost));
+        long elapsed = Math.max(1, System.nanoTime() - started);
+
+        int cost = minCost;
+        while (cost < maxCost && elapsed * 2 <= target.toNanos()) {
+            elapsed *= 2;
+            cost++;
+        }
+
+        if (cost != configuredCost) {
+            log.info("BCrypt cost is pinned to {}; cost {} would take ~{} ms per hash on this host (target {} ms)",
+                    configuredCost, cost, elapsed / 1_000_000, target.toMillis());
+        }
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 형식: $2a$10$...
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -5,7 +5,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.config.jwt.VerifiedTokenCache;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,7 +15,8 @@ import java.io.IOException;
 
 @RequiredArgsConstructor
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
-    private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final BlogMetrics metrics;
 
     private final static String HEADER_AUTHORIZATION = "Authorization";
     private final static String TOKEN_PREFIX = "Bearer ";
@@ -28,9 +30,14 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         String authorizationHeader = request.getHeader(HEADER_AUTHORIZATION);
         String token = getAccessToken(authorizationHeader);
 
-        if (tokenProvider.validToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        // 이미 검증한 토큰이면 캐시에서 바로 꺼내고, 처음 보는 토큰만 파싱/서명 검증을 한 번 한다
+        if (token != null) {
+            long start = System.nanoTime();
+            Authentication authentication = verifiedTokenCache.get(token);
+            BlogMetrics.stop(metrics.getTokenVerify(), start);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
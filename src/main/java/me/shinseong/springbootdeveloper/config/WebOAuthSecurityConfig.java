@@ -2,22 +2,38 @@ package me.shinseong.springbootdeveloper.config;
 
 import lombok.RequiredArgsConstructor;
 import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.config.jwt.VerifiedTokenCache;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
 import me.shinseong.springbootdeveloper.config.oauth.OAuth2AuthorizationRequestBasedOnCookieRepository;
+import me.shinseong.springbootdeveloper.config.oauth.OAuth2AuthorizationRequestCookieCodec;
 import me.shinseong.springbootdeveloper.config.oauth.OAuth2SuccessHandler;
 import me.shinseong.springbootdeveloper.config.oauth.OAuth2UserCustomService;
+import me.shinseong.springbootdeveloper.config.ratelimit.RateLimitFilter;
+import me.shinseong.springbootdeveloper.config.ratelimit.RateLimitProperties;
+import me.shinseong.springbootdeveloper.exception.PasswordHashingRejectedException;
 import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.service.PasswordHasher;
+import me.shinseong.springbootdeveloper.service.RefreshTokenCache;
+import me.shinseong.springbootdeveloper.service.UserDetailService;
 import me.shinseong.springbootdeveloper.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @RequiredArgsConstructor
@@ -26,8 +42,14 @@ public class WebOAuthSecurityConfig {
 
     private final OAuth2UserCustomService oAuth2UserCustomService;
     private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenCache refreshTokenCache;
     private final UserService userService;
+    private final UserDetailService userDetailService;
+    private final OAuth2AuthorizationRequestCookieCodec oAuth2AuthorizationRequestCookieCodec;
+    private final RateLimitProperties rateLimitProperties;
+    private final BlogMetrics blogMetrics;
 
     @Bean
     public WebSecurityCustomizer configure() {
@@ -40,17 +62,27 @@ public class WebOAuthSecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
-                .httpBasic(httpBasic -> httpBasic.disable())
-                .formLogin(formLogin -> formLogin.disable());
+                .httpBasic(httpBasic -> httpBasic.disable());
+
+        // 이메일/비밀번호 로그인(POST /login). 성공하면 OAuth2 로그인과 같은 핸들러로 토큰을 발급한다
+        http.formLogin(formLogin -> formLogin
+                .loginPage("/login")
+                .successHandler(oAuth2SuccessHandler())
+                .failureHandler(passwordLoginFailureHandler()));
 
         http.sessionManagement(management -> management
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         http.addFilterBefore(tokenAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        // 빈으로 등록하면 서블릿 필터로도 한 번 더 걸리므로 시큐리티 체인에만 넣는다.
+        // IP 기준은 토큰 검증보다 먼저, 유저 기준은 인증된 이름이 필요하므로 토큰 필터 뒤에서 센다
+        http.addFilterBefore(new RateLimitFilter(rateLimitProperties, RateLimitProperties.KeyType.IP), TokenAuthenticationFilter.class);
+        http.addFilterAfter(new RateLimitFilter(rateLimitProperties, RateLimitProperties.KeyType.USER), TokenAuthenticationFilter.class);
 
         http
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/token").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/articles/*/views").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll()
                 );
@@ -81,23 +113,56 @@ public class WebOAuthSecurityConfig {
     public OAuth2SuccessHandler oAuth2SuccessHandler() {
         return new OAuth2SuccessHandler(tokenProvider,
                 refreshTokenRepository,
+                refreshTokenCache,
                 oAuth2AuthorizationRequestBasedOnCookieRepository(),
                 userService
         );
     }
 
+    // 저장된 해시의 cost가 설정보다 낮으면(upgradeEncoding) 로그인 성공 직후 다시 해시해서 UserDetailService.updatePassword로 저장한다.
+    // 검증과 재해시는 OffloadedPasswordEncoder를 거쳐 PasswordHasher 실행기에서 돈다.
+    // 빈으로 두면 전역 AuthenticationManager(폼 로그인 체인의 부모)가 이 provider만 쓴다. 빈이 아니면 부트가
+    // UserDetailService로 기본 DaoAuthenticationProvider를 따로 만들어, 실패한 로그인을 요청 스레드에서 한 번 더 검증한다
+    @Bean
+    public DaoAuthenticationProvider passwordAuthenticationProvider(PasswordHasher passwordHasher,
+                                                                    BCryptPasswordEncoder bCryptPasswordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailService);
+        provider.setPasswordEncoder(new OffloadedPasswordEncoder(passwordHasher, bCryptPasswordEncoder));
+        provider.setUserDetailsPasswordService(userDetailService);
+        return provider;
+    }
+
+    // 해시 실행기가 가득 차서 검증하지 못한 경우는 비밀번호가 틀린 것이 아니므로 로그인 화면 대신 503으로 응답한다
+    private AuthenticationFailureHandler passwordLoginFailureHandler() {
+        AuthenticationFailureHandler badCredentials = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception.getCause() instanceof PasswordHashingRejectedException) {
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            badCredentials.onAuthenticationFailure(request, response, exception);
+        };
+    }
+
     @Bean
     public TokenAuthenticationFilter tokenAuthenticationFilter() {
-        return new TokenAuthenticationFilter(tokenProvider);
+        return new TokenAuthenticationFilter(verifiedTokenCache, blogMetrics);
     }
 
     @Bean
     public OAuth2AuthorizationRequestBasedOnCookieRepository oAuth2AuthorizationRequestBasedOnCookieRepository() {
-        return new OAuth2AuthorizationRequestBasedOnCookieRepository();
+        return new OAuth2AuthorizationRequestBasedOnCookieRepository(oAuth2AuthorizationRequestCookieCodec);
     }
 
+    // 회원가입(PasswordHasher)과 비밀번호 로그인이 같이 쓰는 인코더. cost는 설정으로 고정하고, 기동 시 잰 권장 cost는 로그로만 남긴다
+    // static: 이 설정 클래스가 UserService -> PasswordHasher에 의존하므로 인스턴스 없이 만들어 순환 참조를 피한다
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static BCryptPasswordEncoder bCryptPasswordEncoder(@Value("${blog.password.cost:10}") int cost,
+                                                       @Value("${blog.password.target-time:250ms}") Duration targetTime,
+                                                       @Value("${blog.password.min-cost:10}") int minCost,
+                                                       @Value("${blog.password.max-cost:16}") int maxCost) {
+        PinnedCostBCryptPasswordEncoder.recommendCost(cost, targetTime, minCost, maxCost);
+        return new PinnedCostBCryptPasswordEncoder(cost);
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// BlogService의 글 조회 한 번. operation은 findById, findSlice 등 메서드 이름
+@Name("blog.ArticleQuery")
+@Label("Article Query")
+@Category({"Blog", "Persistence"})
+@StackTrace(false)
+public final class ArticleQueryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Article Id")
+    long articleId;
+
+    @Label("Rows")
+    int rows;
+
+    public void complete(String operation, long articleId, int rows) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.articleId = articleId;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
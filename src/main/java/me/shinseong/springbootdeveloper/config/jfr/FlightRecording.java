@@ -0,0 +1,107 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// 기동과 함께 켜지는 상시 JFR 기록. 에이전트나 JVM 옵션 없이 blog.jfc 프로파일로 시작하고,
+// 디스크의 순환 버퍼에 최근 max-age(최대 max-size)만 남긴다. 지연이 튀었을 때 dump로 최근 몇 분을 파일로 떠서 JMC로 본다.
+@Slf4j
+@Component
+public class FlightRecording {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final boolean enabled;
+    private final Resource settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path dumpDirectory;
+    private volatile Recording recording;
+
+    public FlightRecording(@Value("${blog.jfr.enabled:true}") boolean enabled,
+                           @Value("${blog.jfr.settings:classpath:jfr/blog.jfc}") Resource settings,
+                           @Value("${blog.jfr.max-age:30m}") Duration maxAge,
+                           @Value("${blog.jfr.max-size:256MB}") DataSize maxSize,
+                           @Value("${blog.jfr.dump-dir:${java.io.tmpdir}/blog-jfr}") Path dumpDirectory) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            return;
+        }
+
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(settings.getInputStream(), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName("blog");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        started.start();
+        recording = started;
+
+        log.info("JFR recording started (settings={}, maxAge={}, maxSize={})", settings.getFilename(), maxAge, maxSize);
+    }
+
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    // 최근 last 만큼의 기록을 dump-dir에 파일로 쓰고 경로를 돌려준다.
+    // 스냅샷은 진행 중인 청크까지 잘라서 포함하므로 방금 전 이벤트도 들어간다 (청크 경계 때문에 조금 더 앞부분이 섞일 수 있다).
+    public Path dump(Duration last) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("JFR recording is not running");
+        }
+
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve("blog-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.setMaxAge(last);
+            snapshot.dump(file);
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Recording running = recording;
+        recording = null;
+        if (running != null) {
+            running.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+// GET  /actuator/jfr                       기록 상태
+// POST /actuator/jfr {"minutes": 5}         최근 N분(기본 5분, 최대 max-age)을 서버 디스크에 덤프
+// /actuator/** 체인(MetricsConfig)의 인증을 그대로 받는다.
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    private final FlightRecording flightRecording;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+                "running", flightRecording.isRunning(),
+                "maxAgeMinutes", flightRecording.getMaxAge().toMinutes());
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump(@Nullable Integer minutes) throws IOException {
+        long maxMinutes = Math.max(1, flightRecording.getMaxAge().toMinutes());
+        long requested = minutes == null ? DEFAULT_MINUTES : Math.max(1, Math.min(minutes, maxMinutes));
+
+        Path file = flightRecording.dump(Duration.ofMinutes(requested));
+        return Map.of(
+                "file", file.toAbsolutePath().toString(),
+                "bytes", Files.size(file),
+                "minutes", requested);
+    }
+}
@@ -0,0 +1,38 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import me.shinseong.springbootdeveloper.config.jwt.JwtClaims;
+
+// TokenProvider의 JWT 파싱/서명 검증 한 번 (VerifiedTokenCache에 없던 토큰만 여기까지 온다)
+@Name("blog.JwtVerify")
+@Label("JWT Verification")
+@Category({"Blog", "Auth"})
+@StackTrace(false)
+public final class JwtVerifyEvent extends Event {
+
+    @Label("Token Id")
+    String jti;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Valid")
+    boolean valid;
+
+    // 기록 대상일 때만 필드를 채운다 (임계값 미만이거나 꺼져 있으면 아무것도 하지 않는다)
+    public void complete(JwtClaims claims) {
+        end();
+        if (shouldCommit()) {
+            valid = claims != null;
+            if (claims != null) {
+                jti = claims.getJti();
+                userId = claims.getId() == null ? 0 : claims.getId();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// 로그인 성공 처리 한 번 (유저 조회, 토큰 발급, refresh 토큰 저장, 리다이렉트). 비밀번호 로그인은 provider가 "password"
+@Name("blog.OAuthLogin")
+@Label("OAuth Login")
+@Category({"Blog", "Auth"})
+@StackTrace(false)
+public final class OAuthLoginEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("User Id")
+    long userId;
+
+    public void complete(String provider, Long userId) {
+        end();
+        if (shouldCommit()) {
+            this.provider = provider;
+            this.userId = userId == null ? 0 : userId;
+            commit();
+        }
+    }
+}
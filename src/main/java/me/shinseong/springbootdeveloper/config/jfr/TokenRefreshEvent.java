@@ -0,0 +1,55 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// TokenService.createNewAccessToken 한 번. 전체 시간과 단계별 시간을 같이 남긴다
+@Name("blog.TokenRefresh")
+@Label("Refresh Token Exchange")
+@Category({"Blog", "Auth"})
+@StackTrace(false)
+public final class TokenRefreshEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Validate Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long validateNanos;
+
+    @Label("Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookupNanos;
+
+    @Label("User Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long userNanos;
+
+    @Label("Issue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long issueNanos;
+
+    public void phases(long validateNanos, long lookupNanos, long userNanos, long issueNanos) {
+        this.validateNanos = validateNanos;
+        this.lookupNanos = lookupNanos;
+        this.userNanos = userNanos;
+        this.issueNanos = issueNanos;
+    }
+
+    // userId가 null이면 조회 전에 실패한 것
+    public void complete(Long userId, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId == null ? 0 : userId;
+            this.success = success;
+            commit();
+        }
+    }
+}
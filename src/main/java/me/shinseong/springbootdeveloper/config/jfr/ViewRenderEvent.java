@@ -0,0 +1,34 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Thymeleaf 렌더링 한 번. fragment면 BlogViewController가 캐시하려고 직접 렌더링한 조각, 아니면 최종 페이지
+@Name("blog.ViewRender")
+@Label("View Render")
+@Category({"Blog", "Web"})
+@StackTrace(false)
+public final class ViewRenderEvent extends Event {
+
+    @Label("Template")
+    String template;
+
+    @Label("Fragment")
+    boolean fragment;
+
+    @Label("Article Id")
+    long articleId;
+
+    public void complete(String template, boolean fragment, long articleId) {
+        end();
+        if (shouldCommit()) {
+            this.template = template;
+            this.fragment = fragment;
+            this.articleId = articleId;
+            commit();
+        }
+    }
+}
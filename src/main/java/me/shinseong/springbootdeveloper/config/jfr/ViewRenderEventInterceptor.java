@@ -0,0 +1,56 @@
+package me.shinseong.springbootdeveloper.config.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.shinseong.springbootdeveloper.controller.BlogViewController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+
+// BlogViewController가 돌려준 뷰를 Thymeleaf가 렌더링하는 구간(postHandle -> afterCompletion)을 JFR(blog.ViewRender)에 남긴다.
+public class ViewRenderEventInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT = ViewRenderEventInterceptor.class.getName() + ".EVENT";
+    private static final String VIEW = ViewRenderEventInterceptor.class.getName() + ".VIEW";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != BlogViewController.class) {
+            return;
+        }
+
+        ViewRenderEvent event = new ViewRenderEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        request.setAttribute(EVENT, event);
+        request.setAttribute(VIEW, modelAndView.getViewName());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(EVENT) instanceof ViewRenderEvent event) {
+            event.complete((String) request.getAttribute(VIEW), false, articleId(request));
+        }
+    }
+
+    private static long articleId(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                && variables.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package me.shinseong.springbootdeveloper.config.jwt;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 이 서비스가 쓰는 클레임만 담는 고정 구조의 객체. 시각은 JWT 규격대로 epoch 초 단위
+@Builder
+@Getter
+public class JwtClaims {
+    private final String subject;    // sub (이메일)
+    private final Long id;           // id (유저 id)
+    private final Long issuedAt;     // iat
+    private final Long expiration;   // exp
+    private final Long notBefore;    // nbf
+    private final String issuer;     // iss
+    private final String jti;        // jti (토큰 고유 id, 폐기 목록의 키)
+}
@@ -0,0 +1,252 @@
+package me.shinseong.springbootdeveloper.config.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+// HS256 전용 JWT 인코더/디코더. jjwt 0.9.1이 발급하던 토큰과 형식이 같다.
+// 키는 생성 시 한 번만 만들고, Mac은 스레드마다 하나씩 재사용한다.
+public class JwtCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER_JSON = "{\"typ\":\"JWT\",\"alg\":\"HS256\"}";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte PADDING = 127; // Base64 '=' 표시
+
+    private final String encodedHeader = ENCODER.encodeToString(HEADER_JSON.getBytes(StandardCharsets.UTF_8));
+    private final byte[] encodedHeaderBytes = encodedHeader.getBytes(StandardCharsets.US_ASCII);
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    // secretKey는 jjwt 0.9.1과 같은 방식(Base64 문자열로 보고 디코딩)으로 키 바이트를 만든다.
+    public JwtCodec(String secretKey) {
+        this.key = new SecretKeySpec(decodeSecret(secretKey), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        macs.get(); // 키에 문제가 있으면 생성 시점에 바로 실패하게 한다
+    }
+
+    public String encode(JwtClaims claims) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        appendString(json, "iss", claims.getIssuer());
+        appendNumber(json, "iat", claims.getIssuedAt());
+        appendNumber(json, "exp", claims.getExpiration());
+        appendNumber(json, "nbf", claims.getNotBefore());
+        appendString(json, "sub", claims.getSubject());
+        appendNumber(json, "id", claims.getId());
+        appendString(json, "jti", claims.getJti());
+        if (json.length() > 1) {
+            json.setLength(json.length() - 1); // 마지막 쉼표 제거
+        }
+        json.append('}');
+
+        String signingInput = encodedHeader + '.' + ENCODER.encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+        return signingInput + '.' + ENCODER.encodeToString(signature);
+    }
+
+    // 서명을 먼저 검증(상수 시간 비교)한 뒤 헤더/페이로드를 한 번씩만 읽는다.
+    // 형식, 서명, 만료(exp), 사용 시작 시각(nbf) 중 하나라도 맞지 않으면 IllegalArgumentException
+    public JwtClaims decode(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("token is null");
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        int firstDot = indexOf(bytes, 0);
+        int secondDot = firstDot < 0 ? -1 : indexOf(bytes, firstDot + 1);
+        if (secondDot < 0 || indexOf(bytes, secondDot + 1) >= 0) {
+            throw new IllegalArgumentException("malformed token");
+        }
+
+        Mac mac = macs.get();
+        mac.update(bytes, 0, secondDot);
+        byte[] expected = mac.doFinal();
+        byte[] actual = decode(bytes, secondDot + 1, bytes.length);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("invalid signature");
+        }
+
+        if (!Arrays.equals(bytes, 0, firstDot, encodedHeaderBytes, 0, encodedHeaderBytes.length)) {
+            checkHeader(decode(bytes, 0, firstDot));
+        }
+
+        JwtClaims claims = parsePayload(decode(bytes, firstDot + 1, secondDot));
+        long now = System.currentTimeMillis();
+        if (claims.getExpiration() != null && now > claims.getExpiration() * 1000) {
+            throw new IllegalArgumentException("token expired");
+        }
+        if (claims.getNotBefore() != null && now < claims.getNotBefore() * 1000) {
+            throw new IllegalArgumentException("token not yet valid");
+        }
+        return claims;
+    }
+
+    // 우리가 만든 헤더와 모양이 다른 경우에만 파싱해서 alg가 HS256인지 확인한다 (alg=none 등 차단)
+    private static void checkHeader(byte[] header) {
+        try (JsonParser parser = JSON.createParser(header)) {
+            String algorithm = null;
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("malformed header");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("alg".equals(name)) {
+                    algorithm = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!"HS256".equals(algorithm)) {
+                throw new IllegalArgumentException("unsupported algorithm: " + algorithm);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed header", e);
+        }
+    }
+
+    private static JwtClaims parsePayload(byte[] payload) {
+        JwtClaims.JwtClaimsBuilder claims = JwtClaims.builder();
+
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("malformed payload");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "sub" -> claims.subject(parser.getValueAsString());
+                    case "iss" -> claims.issuer(parser.getValueAsString());
+                    case "id" -> claims.id(parser.getLongValue());
+                    case "iat" -> claims.issuedAt(parser.getLongValue());
+                    case "exp" -> claims.expiration(parser.getLongValue());
+                    case "nbf" -> claims.notBefore(parser.getLongValue());
+                    case "jti" -> claims.jti(parser.getValueAsString());
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed payload", e);
+        }
+
+        return claims.build();
+    }
+
+    private static byte[] decode(byte[] bytes, int from, int to) {
+        return DECODER.decode(Arrays.copyOfRange(bytes, from, to));
+    }
+
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void appendString(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append("\",");
+    }
+
+    private static void appendNumber(StringBuilder json, String name, Long value) {
+        if (value != null) {
+            json.append('"').append(name).append("\":").append(value).append(',');
+        }
+    }
+
+    // jjwt 0.9.1이 쓰던 javax.xml.bind.DatatypeConverter.parseBase64Binary와 같은 규칙의 디코딩.
+    // Base64 문자가 아닌 글자는 건너뛰고, 4글자가 채워지지 않은 마지막 묶음은 버린다.
+    static byte[] decodeSecret(String secret) {
+        byte[] out = new byte[secret.length()];
+        byte[] quadruplet = new byte[4];
+        int q = 0;
+        int o = 0;
+
+        for (int i = 0; i < secret.length(); i++) {
+            int v = base64Value(secret.charAt(i));
+            if (v != -1) {
+                quadruplet[q++] = (byte) v;
+            }
+            if (q == 4) {
+                out[o++] = (byte) ((quadruplet[0] << 2) | (quadruplet[1] >> 4));
+                if (quadruplet[2] != PADDING) {
+                    out[o++] = (byte) ((quadruplet[1] << 4) | (quadruplet[2] >> 2));
+                }
+                if (quadruplet[3] != PADDING) {
+                    out[o++] = (byte) ((quadruplet[2] << 6) | quadruplet[3]);
+                }
+                q = 0;
+            }
+        }
+
+        return Arrays.copyOf(out, o);
+    }
+
+    private static int base64Value(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '+') {
+            return 62;
+        }
+        if (c == '/') {
+            return 63;
+        }
+        if (c == '=') {
+            return PADDING;
+        }
+        return -1;
+    }
+}
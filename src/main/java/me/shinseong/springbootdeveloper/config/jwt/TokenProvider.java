@@ -1,11 +1,8 @@
 package me.shinseong.springbootdeveloper.config.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Header;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.config.jfr.JwtVerifyEvent;
 import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -15,62 +12,91 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Set;
+import java.util.UUID;
 
-@RequiredArgsConstructor
 @Service
 public class TokenProvider {
 
+    private static final Set<SimpleGrantedAuthority> AUTHORITIES =
+            Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final JwtProperties jwtProperties;
+    private volatile JwtCodec codec; // 키가 설정된 뒤 처음 쓸 때 한 번 만든다
+
+    public TokenProvider(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
 
     public String generateToken(User user, Duration expiredAt) {
         Date now = new Date();
-        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user);
+        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user.getId(), user.getEmail());
     }
 
-    private String makeToken(Date expiry, User user) {
+    public String generateToken(UserIdentity user, Duration expiredAt) {
         Date now = new Date();
+        return makeToken(new Date(now.getTime() + expiredAt.toMillis()), user.getId(), user.getEmail());
+    }
 
-        return Jwts.builder()
-                .setHeaderParam(Header.TYPE, Header.JWT_TYPE)
-                .setIssuer(jwtProperties.getIssuer())
-                .setIssuedAt(now)
-                .setExpiration(expiry)
-                .setSubject(user.getEmail())
-                .claim("id", user.getId())
-                .signWith(SignatureAlgorithm.HS256, jwtProperties.getSecretKey())
-                .compact();
+    private String makeToken(Date expiry, Long userId, String email) {
+        Date now = new Date();
+
+        return codec().encode(JwtClaims.builder()
+                .issuer(jwtProperties.getIssuer())
+                .issuedAt(now.getTime() / 1000)
+                .expiration(expiry.getTime() / 1000)
+                .subject(email)
+                .id(userId)
+                .jti(UUID.randomUUID().toString())
+                .build());
     }
 
     public boolean validToken(String token) {
-        try {
-            Jwts.parser()
-                    .setSigningKey(jwtProperties.getSecretKey())
-                    .parseClaimsJws(token);
+        return parseClaims(token) != null;
+    }
 
-            return true;
+    // 서명/만료 검증과 클레임 추출을 한 번의 파싱으로 처리한다. 유효하지 않으면 null
+    public JwtClaims parseClaims(String token) {
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        JwtClaims claims;
+        try {
+            claims = getClaims(token);
         } catch (Exception e) {
-            return false;
+            claims = null;
         }
+        event.complete(claims);
+        return claims;
     }
 
-
     public Authentication getAuthentication(String token) {
-        Claims claims = getClaims(token);
-        Set<SimpleGrantedAuthority> authorities = Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"));
+        return getAuthentication(token, getClaims(token));
+    }
 
+    public Authentication getAuthentication(String token, JwtClaims claims) {
         return new UsernamePasswordAuthenticationToken(new org.springframework.security.core.userdetails.User(claims.getSubject
-                (), "", authorities), token, authorities);
+                (), "", AUTHORITIES), token, AUTHORITIES);
     }
 
     public Long getUserId(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("id", Long.class);
+        JwtClaims claims = getClaims(token);
+        return claims.getId();
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(jwtProperties.getSecretKey())
-                .parseClaimsJws(token)
-                .getBody();
+    private JwtClaims getClaims(String token) {
+        return codec().decode(token);
+    }
+
+    private JwtCodec codec() {
+        JwtCodec current = codec;
+        if (current == null) {
+            synchronized (this) {
+                current = codec;
+                if (current == null) {
+                    current = new JwtCodec(jwtProperties.getSecretKey());
+                    codec = current;
+                }
+            }
+        }
+        return current;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package me.shinseong.springbootdeveloper.config.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import me.shinseong.springbootdeveloper.domain.RevokedToken;
+import me.shinseong.springbootdeveloper.repository.RevokedTokenRepository;
+import me.shinseong.springbootdeveloper.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 서버마다 들고 있는 토큰 폐기 목록. 요청마다 DB를 보지 않도록 revoked_token 테이블을 메모리에 옮겨 둔다.
+// - jti 폐기: 블룸 필터로 먼저 거르고, 블룸이 "있을 수도 있음"이라고 할 때만 정확한 집합을 본다
+// - 유저 단위 폐기: userId -> issuedBefore 맵 한 번 조회
+// 테이블은 주기적으로 마지막으로 읽은 id 이후만 이어서 읽고, 가끔 만료된 항목을 걸러내며 블룸 필터를 다시 만든다.
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // 동시에 커밋된 행의 id 순서가 뒤바뀌어도 놓치지 않도록 마지막 id보다 조금 앞부터 다시 읽는다
+    private static final long LOOKBACK_IDS = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    private final double fpp;
+
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>(); // jti -> expiresAt
+    private final Map<Long, UserRevocation> revokedBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private long lastId;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${blog.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${blog.revocation.fpp:0.01}") double fpp) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.fpp = fpp;
+        this.bloomFilter = new BloomFilter(expectedEntries, fpp);
+    }
+
+    // issuedAt(epoch 초)이 유저의 issuedBefore 이하이면 폐기된 것으로 본다 (같은 초에 발급된 토큰도 막는다)
+    public boolean isRevoked(String jti, Long userId, Long issuedAt) {
+        if (userId != null && issuedAt != null) {
+            UserRevocation revocation = revokedBefore.get(userId);
+            if (revocation != null && issuedAt <= revocation.issuedBefore()) {
+                return true;
+            }
+        }
+
+        return jti != null && bloomFilter.mightContain(jti) && revokedJtis.containsKey(jti);
+    }
+
+    // 이 서버에서 폐기한 항목은 다음 갱신을 기다리지 않고 바로 반영한다
+    public void add(RevokedToken revokedToken) {
+        if (revokedToken.getJti() != null) {
+            revokedJtis.put(revokedToken.getJti(), revokedToken.getExpiresAt());
+
+            BloomFilter filter = bloomFilter;
+            filter.add(revokedToken.getJti());
+            if (filter != bloomFilter) { // 그 사이 rebuild()가 필터를 바꿨으면 새 필터에도 넣는다
+                bloomFilter.add(revokedToken.getJti());
+            }
+        }
+        if (revokedToken.getUserId() != null && revokedToken.getIssuedBefore() != null) {
+            revokedBefore.merge(revokedToken.getUserId(),
+                    new UserRevocation(revokedToken.getIssuedBefore(), revokedToken.getExpiresAt()),
+                    UserRevocation::merge);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.revocation.refresh-interval:5s}")
+    public synchronized void refresh() {
+        try {
+            long now = System.currentTimeMillis() / 1000;
+            List<RevokedToken> rows = revokedTokenRepository.findActiveAfter(Math.max(0, lastId - LOOKBACK_IDS), now);
+            for (RevokedToken row : rows) {
+                add(row);
+                lastId = Math.max(lastId, row.getId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("failed to refresh token revocation list", e);
+        }
+    }
+
+    // 만료된 항목을 지우고 블룸 필터를 새로 만들어 바꿔 끼운다 (블룸 필터는 삭제가 안 되므로)
+    @Scheduled(fixedDelayString = "${blog.revocation.rebuild-interval:1h}", initialDelayString = "${blog.revocation.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis() / 1000;
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedBefore.values().removeIf(revocation -> revocation.expiresAt() <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedJtis.size() * 2), fpp);
+        revokedJtis.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private record UserRevocation(long issuedBefore, long expiresAt) {
+
+        private UserRevocation merge(UserRevocation other) {
+            return new UserRevocation(Math.max(issuedBefore, other.issuedBefore), Math.max(expiresAt, other.expiresAt));
+        }
+    }
+}
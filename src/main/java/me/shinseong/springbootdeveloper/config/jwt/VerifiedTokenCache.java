@@ -0,0 +1,76 @@
+package me.shinseong.springbootdeveloper.config.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 검증을 마친 액세스 토큰 -> Authentication 캐시.
+// 같은 토큰이 하루 동안 계속 쓰이므로, 한 번 서명/만료를 검증한 뒤에는 해시 조회만으로 인증 객체를 돌려준다.
+// 키는 토큰 원문 대신 SHA-256 다이제스트를 쓰고, 항목은 토큰의 exp 시각에 맞춰 만료된다.
+// 캐시에 있는 토큰도 나중에 폐기될 수 있으므로 폐기 여부는 매번 TokenRevocationList로 확인한다.
+@Component
+public class VerifiedTokenCache {
+
+    private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(TokenProvider tokenProvider,
+                              TokenRevocationList tokenRevocationList,
+                              @Value("${jwt.cache.max-size:100000}") long maxSize) {
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAt - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+    }
+
+    // 유효하고 폐기되지 않은 토큰이면 인증 객체를, 아니면 null을 반환한다. 유효하지 않은 토큰은 캐시하지 않는다.
+    public Authentication get(String token) {
+        VerifiedToken verified = cache.get(TokenHashUtil.sha256(token), key -> verify(token));
+        if (verified == null || tokenRevocationList.isRevoked(verified.jti, verified.userId, verified.issuedAt)) {
+            return null;
+        }
+        return verified.authentication;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private VerifiedToken verify(String token) {
+        JwtClaims claims = tokenProvider.parseClaims(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        return new VerifiedToken(tokenProvider.getAuthentication(token, claims), claims.getExpiration() * 1000,
+                claims.getJti(), claims.getId(), claims.getIssuedAt());
+    }
+
+    private static class VerifiedToken {
+        private final Authentication authentication;
+        private final long expiresAt;
+        private final String jti;
+        private final Long userId;
+        private final Long issuedAt;
+
+        private VerifiedToken(Authentication authentication, long expiresAt, String jti, Long userId, Long issuedAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+            this.jti = jti;
+            this.userId = userId;
+            this.issuedAt = issuedAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package me.shinseong.springbootdeveloper.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 핫 패스에서 쓰는 타이머 모음. 모두 기동 시 한 번 등록해 두고 필드로 들고 있는다.
+// 요청마다 태그로 조회(registry.timer(name, tags...))하면 Tags/Meter.Id가 매번 만들어지므로,
+// 호출하는 쪽은 System.nanoTime() 두 번과 record(long, TimeUnit)만 하게 해서 할당이 없도록 한다.
+@Getter
+@Component
+public class BlogMetrics {
+
+    private final Timer tokenVerify;
+    private final Timer refreshValidate;
+    private final Timer refreshLookup;
+    private final Timer refreshUser;
+    private final Timer refreshIssue;
+    private final Timer passwordHash;
+    private final Timer passwordQueue;
+
+    public BlogMetrics(MeterRegistry registry) {
+        this.tokenVerify = timer(registry, "blog.token.verify",
+                "Access token verification in TokenAuthenticationFilter (cache hit or HMAC check)",
+                Duration.ofNanos(1_000), Duration.ofMillis(100));
+
+        this.refreshValidate = refreshPhase(registry, "validate");
+        this.refreshLookup = refreshPhase(registry, "lookup");
+        this.refreshUser = refreshPhase(registry, "user");
+        this.refreshIssue = refreshPhase(registry, "issue");
+
+        this.passwordHash = timer(registry, "blog.password.hash",
+                "BCrypt hashing or verification time on the password-hasher pool",
+                Duration.ofMillis(10), Duration.ofSeconds(5));
+        this.passwordQueue = timer(registry, "blog.password.queue",
+                "Time a signup or password login waited for a password-hasher thread",
+                Duration.ofNanos(1_000), Duration.ofSeconds(5));
+    }
+
+    // start는 System.nanoTime()으로 잰 시작 시각. 기록한 경과 시간(ns)을 돌려준다
+    public static long stop(Timer timer, long start) {
+        long elapsed = System.nanoTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    private static Timer refreshPhase(MeterRegistry registry, String phase) {
+        return Timer.builder("blog.token.refresh")
+                .description("Phases of TokenService.createNewAccessToken")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    // 히스토그램 버킷은 예상 범위로 잘라서 스크레이프 크기와 기록 비용을 줄인다
+    static Timer timer(MeterRegistry registry, String name, String description, Duration min, Duration max) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(min)
+                .maximumExpectedValue(max)
+                .register(registry);
+    }
+}
@@ -0,0 +1,112 @@
+package me.shinseong.springbootdeveloper.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import me.shinseong.springbootdeveloper.controller.BlogApiController;
+import me.shinseong.springbootdeveloper.controller.BlogViewController;
+import me.shinseong.springbootdeveloper.controller.TokenApiController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 지정한 컨트롤러의 핸들러 메서드마다 타이머(blog.controller)를 하나씩 둔다. 태그는 controller, method, outcome.
+// 스프링 기본 http.server.requests 관측은 요청마다 Observation 컨텍스트와 태그를 만들기 때문에 꺼 두고 이걸로 대신한다.
+// 동기 요청은 시작 시각을 스레드 로컬 long 배열에 두어 박싱 없이 잰다.
+// 비동기 요청(전체 글 내보내기)은 디스패치 스레드가 바뀌므로 요청 속성에 담는다 (그 경로에서만 Long 하나가 생긴다).
+public class ControllerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<Class<?>> TIMED_CONTROLLERS =
+            Set.of(BlogApiController.class, BlogViewController.class, TokenApiController.class);
+    private static final String ASYNC_START = ControllerTimingInterceptor.class.getName() + ".ASYNC_START";
+
+    private final MeterRegistry registry;
+    private final Map<Method, HandlerTimers> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> start = ThreadLocal.withInitial(() -> new long[1]);
+
+    public ControllerTimingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 재디스패치에서는 처음 preHandle에서 잰 시작 시각을 그대로 쓴다
+        if (request.getDispatcherType() != DispatcherType.ASYNC && timersFor(handler) != null) {
+            start.get()[0] = System.nanoTime();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (timersFor(handler) != null) {
+            request.setAttribute(ASYNC_START, start.get()[0]);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        HandlerTimers handlerTimers = timersFor(handler);
+        if (handlerTimers == null) {
+            return;
+        }
+
+        long startedAt;
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            Object asyncStart = request.getAttribute(ASYNC_START);
+            if (asyncStart == null) {
+                return;
+            }
+            startedAt = (Long) asyncStart;
+        } else {
+            startedAt = start.get()[0];
+        }
+
+        Timer timer = ex == null && response.getStatus() < 400 ? handlerTimers.success : handlerTimers.error;
+        BlogMetrics.stop(timer, startedAt);
+    }
+
+    // 요청마다 HandlerMethod 인스턴스는 새로 만들어지지만 Method는 같은 객체라 키로 쓴다
+    private HandlerTimers timersFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !TIMED_CONTROLLERS.contains(handlerMethod.getBeanType())) {
+            return null;
+        }
+
+        Method method = handlerMethod.getMethod();
+        HandlerTimers handlerTimers = timers.get(method);
+        if (handlerTimers == null) {
+            handlerTimers = timers.computeIfAbsent(method, key -> new HandlerTimers(registry, handlerMethod));
+        }
+        return handlerTimers;
+    }
+
+    private static final class HandlerTimers {
+        private final Timer success;
+        private final Timer error;
+
+        HandlerTimers(MeterRegistry registry, HandlerMethod handlerMethod) {
+            this.success = timer(registry, handlerMethod, "SUCCESS");
+            this.error = timer(registry, handlerMethod, "ERROR");
+        }
+
+        private static Timer timer(MeterRegistry registry, HandlerMethod handlerMethod, String outcome) {
+            return Timer.builder("blog.controller")
+                    .description("Handler time per controller method")
+                    .tag("controller", handlerMethod.getBeanType().getSimpleName())
+                    .tag("method", handlerMethod.getMethod().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package me.shinseong.springbootdeveloper.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+@RequiredArgsConstructor
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final String SCRAPE_ROLE = "METRICS";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerTimingInterceptor(meterRegistry));
+    }
+
+    // /actuator/** 전용 체인. JWT 필터와 /api/** 규칙이 붙은 기본 체인보다 먼저 매칭된다.
+    // 스크레이퍼는 blog.metrics.username/password로 Basic 인증을 한다. 비밀번호를 설정하지 않으면 로컬(루프백)에서만 열린다.
+    // 스크레이프마다 BCrypt를 돌리지 않도록 비밀번호는 상수 시간 비교만 한다.
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${blog.metrics.username:prometheus}") String username,
+                                                   @Value("${blog.metrics.password:}") String password) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .formLogin(formLogin -> formLogin.disable());
+
+        http.sessionManagement(management -> management
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        if (StringUtils.hasText(password)) {
+            byte[] expected = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+            http.httpBasic(withDefaults());
+            http.authenticationManager(new ProviderManager(new ScrapeAuthenticationProvider(expected)));
+            http.authorizeHttpRequests(auth -> auth
+                    .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                    .anyRequest().hasRole(SCRAPE_ROLE));
+        } else {
+            IpAddressMatcher ipv4Loopback = new IpAddressMatcher("127.0.0.1");
+            IpAddressMatcher ipv6Loopback = new IpAddressMatcher("::1");
+            http.httpBasic(httpBasic -> httpBasic.disable());
+            http.authorizeHttpRequests(auth -> auth
+                    .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                    .anyRequest().access((authentication, context) -> new AuthorizationDecision(
+                            ipv4Loopback.matches(context.getRequest()) || ipv6Loopback.matches(context.getRequest()))));
+        }
+
+        return http.build();
+    }
+
+    private record ScrapeAuthenticationProvider(byte[] expected) implements AuthenticationProvider {
+
+        @Override
+        public Authentication authenticate(Authentication authentication) {
+            byte[] presented = (authentication.getName() + ":" + authentication.getCredentials())
+                    .getBytes(StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(expected, presented)) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_" + SCRAPE_ROLE));
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+            return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+    }
+}
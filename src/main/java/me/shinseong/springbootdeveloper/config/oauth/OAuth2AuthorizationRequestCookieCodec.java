@@ -0,0 +1,113 @@
+package me.shinseong.springbootdeveloper.config.oauth;
+
+import me.shinseong.springbootdeveloper.util.SignedCookieCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// OAuth2AuthorizationRequest 쿠키 코덱. 콜백 처리에 필요한 필드만 순서대로 쓴다.
+// authorizationRequestUri는 나머지 필드로 다시 만들 수 있으므로 쓰지 않는다 (빌더가 build() 때 채운다).
+// 그랜트 타입은 authorization_code만 쓰므로 따로 저장하지 않는다.
+@Component
+public class OAuth2AuthorizationRequestCookieCodec extends SignedCookieCodec<OAuth2AuthorizationRequest> {
+
+    private static final int VERSION = 1; // 필드 구성이 바뀌면 올린다. 옛 쿠키는 무효가 되고 로그인을 다시 시작한다
+
+    // 키를 설정하지 않으면 기동할 때마다 새로 만든다 (여러 대로 띄울 때는 같은 키를 설정해야 한다)
+    public OAuth2AuthorizationRequestCookieCodec(@Value("${blog.oauth2.cookie-secret:}") String secret) {
+        super(secretBytes(secret), VERSION, OAuth2AuthorizationRequestBasedOnCookieRepository.COOKIE_EXPIRE_SECONDS);
+    }
+
+    @Override
+    protected void write(OAuth2AuthorizationRequest request, DataOutputStream out) throws IOException {
+        out.writeUTF(request.getAuthorizationUri());
+        out.writeUTF(request.getClientId());
+        writeNullable(out, request.getRedirectUri());
+        writeNullable(out, request.getState());
+
+        out.writeShort(request.getScopes().size());
+        for (String scope : request.getScopes()) {
+            out.writeUTF(scope);
+        }
+
+        writeMap(out, request.getAdditionalParameters());
+        writeMap(out, request.getAttributes());
+    }
+
+    @Override
+    protected OAuth2AuthorizationRequest read(DataInputStream in) throws IOException {
+        String authorizationUri = in.readUTF();
+        String clientId = in.readUTF();
+        String redirectUri = readNullable(in);
+        String state = readNullable(in);
+
+        int scopeCount = in.readUnsignedShort();
+        Set<String> scopes = new LinkedHashSet<>(scopeCount * 2);
+        for (int i = 0; i < scopeCount; i++) {
+            scopes.add(in.readUTF());
+        }
+
+        Map<String, Object> additionalParameters = readMap(in);
+        Map<String, Object> attributes = readMap(in);
+
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri(authorizationUri)
+                .clientId(clientId)
+                .redirectUri(redirectUri)
+                .state(state)
+                .scopes(scopes)
+                .additionalParameters(additionalParameters)
+                .attributes(attributes)
+                .build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // 값은 문자열로 저장한다 (registration_id, nonce, code_verifier 등 스프링 시큐리티가 넣는 값은 모두 문자열이다)
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(String.valueOf(entry.getValue()));
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (StringUtils.hasText(secret)) {
+            return Base64.getDecoder().decode(secret);
+        }
+
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
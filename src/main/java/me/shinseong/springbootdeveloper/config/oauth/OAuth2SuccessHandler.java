@@ -3,13 +3,16 @@ package me.shinseong.springbootdeveloper.config.oauth;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.config.jfr.OAuthLoginEvent;
 import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
-import me.shinseong.springbootdeveloper.domain.RefreshToken;
-import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.service.RefreshTokenCache;
 import me.shinseong.springbootdeveloper.service.UserService;
 import me.shinseong.springbootdeveloper.util.CookieUtil;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
@@ -29,32 +32,51 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
 
     private final TokenProvider tokenProvider;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenCache refreshTokenCache;
     private final OAuth2AuthorizationRequestBasedOnCookieRepository authorizationRequestRepository;
     private final UserService userService;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException {
-        OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
-        User user = userService.findByEmail((String) oAuth2User.getAttributes().get("email"));
-
-        String refreshToken = tokenProvider.generateToken(user, REFRESH_TOKEN_DURATION);
-        saveRefreshToken(user.getId(), refreshToken);
-        addRefreshTokenToCookie(request, response, refreshToken);
-
-        String accessToken = tokenProvider.generateToken(user, ACCESS_TOKEN_DURATION);
-        String targetUrl = getTargetUrl(accessToken);
-
-        clearAuthenticationAttributes(request, response);
+        OAuthLoginEvent event = new OAuthLoginEvent();
+        event.begin();
+        Long userId = null;
+        try {
+            // OAuth2 로그인은 제공자가 준 email 속성, 비밀번호 로그인은 사용자 이름(email)으로 찾는다
+            String email = authentication.getPrincipal() instanceof OAuth2User oAuth2User
+                    ? (String) oAuth2User.getAttributes().get("email")
+                    : authentication.getName();
+            UserIdentity user = userService.findByEmail(email);
+            userId = user.getId();
+
+            String refreshToken = tokenProvider.generateToken(user, REFRESH_TOKEN_DURATION);
+            saveRefreshToken(user.getId(), refreshToken);
+            addRefreshTokenToCookie(request, response, refreshToken);
+
+            String accessToken = tokenProvider.generateToken(user, ACCESS_TOKEN_DURATION);
+            String targetUrl = getTargetUrl(accessToken);
+
+            clearAuthenticationAttributes(request, response);
+
+            getRedirectStrategy().sendRedirect(request, response, targetUrl);
+        } finally {
+            event.complete(provider(authentication), userId);
+        }
+    }
 
-        getRedirectStrategy().sendRedirect(request, response, targetUrl);
+    private static String provider(Authentication authentication) {
+        return authentication instanceof OAuth2AuthenticationToken token
+                ? token.getAuthorizedClientRegistrationId()
+                : "password";
     }
 
+    // 조회 없이 MERGE 한 문장으로 등록/교체하고, 커밋된 뒤에 캐시를 맞춘다. 옛 토큰은 더 이상 재발급에 쓸 수 없다
     private void saveRefreshToken(Long userId, String newRefreshToken) {
-        RefreshToken refreshToken = refreshTokenRepository.findByUserId(userId)
-                .map(entity -> entity.update(newRefreshToken))
-                .orElse(new RefreshToken(userId, newRefreshToken));
+        String tokenHash = TokenHashUtil.sha256(newRefreshToken);
+        long expiresAt = System.currentTimeMillis() / 1000 + REFRESH_TOKEN_DURATION.toSeconds();
 
-        refreshTokenRepository.save(refreshToken);
+        refreshTokenRepository.upsert(userId, tokenHash, expiresAt);
+        refreshTokenCache.replace(tokenHash, userId);
     }
 
     private void addRefreshTokenToCookie(HttpServletRequest request, HttpServletResponse response, String refreshToken) {
@@ -1,8 +1,9 @@
 package me.shinseong.springbootdeveloper.config.oauth;
 
 import lombok.RequiredArgsConstructor;
-import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import me.shinseong.springbootdeveloper.repository.UserRepository;
+import me.shinseong.springbootdeveloper.service.UserCache;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
@@ -10,12 +11,14 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 @Service
 public class OAuth2UserCustomService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -26,19 +29,33 @@ public class OAuth2UserCustomService extends DefaultOAuth2UserService {
     }
 
     // ❷ 유저가 있으면 업데이트, 없으면 유저 생성
-    private User saveOrUpdate(OAuth2User oAuth2User) {
+    // 대부분의 로그인은 닉네임이 그대로이므로 쓰기를 하지 않는다. 바뀌었거나 처음 온 유저만 MERGE 한 문장으로 반영한다.
+    // 결과 스냅샷을 UserCache에 담아 두므로 이어지는 OAuth2SuccessHandler의 email 조회는 DB를 타지 않는다.
+    private void saveOrUpdate(OAuth2User oAuth2User) {
         Map<String, Object> attributes = oAuth2User.getAttributes();
 
         String email = (String) attributes.get("email");
         String name = (String) attributes.get("name");
 
-        User user = userRepository.findByEmail(email)
-                .map(entity -> entity.update(name))
-                .orElse(User.builder()
-                        .email(email)
-                        .nickname(name)
-                        .build());
-
-        return userRepository.save(user);
+        UserIdentity current = userCache.getByEmailIfPresent(email);
+        if (current == null) {
+            current = userRepository.findByEmail(email)
+                    .map(UserIdentity::new)
+                    .orElse(null);
+        }
+
+        if (current != null && Objects.equals(current.getNickname(), name)) {
+            userCache.put(current);
+            return;
+        }
+
+        userRepository.upsertOAuthUser(email, name);
+
+        if (current != null) {
+            userCache.put(current.withNickname(name));
+        } else {
+            // 새로 생긴 유저의 id는 다음 조회에서 채운다
+            userCache.evict(null, email);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package me.shinseong.springbootdeveloper.config.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 경로별 토큰 버킷 속도 제한. 키 종류마다 인스턴스를 하나씩 만들어 체인의 다른 위치에 넣는다.
+// IP 기준은 TokenAuthenticationFilter 앞에서 돌아 토큰 검증(HMAC, DB 조회)과 로그인(BCrypt)보다 먼저 429로 끊고,
+// 유저 기준은 인증된 이름이 필요하므로 TokenAuthenticationFilter 뒤에서 돈다.
+// IP는 getRemoteAddr()다. 리버스 프록시 뒤에서는 server.forward-headers-strategy로 X-Forwarded-For를 반영해야 한다 (application.yml).
+// 키(IP/유저)별 버킷은 경로마다 크기 제한과 유휴 만료가 있는 Caffeine 맵에 둔다.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Map<String, List<RouteLimiter>> limitersByPath = new HashMap<>();
+
+    // keyType이 같은 route만 맡는다
+    public RateLimitFilter(RateLimitProperties properties, RateLimitProperties.KeyType keyType) {
+        // OncePerRequestFilter는 필터 이름으로 "이미 거침" 표시를 하므로, 이름이 같으면 두 번째 인스턴스가 건너뛰어진다
+        setBeanName("rateLimitFilter." + keyType.name().toLowerCase());
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getKey() != keyType) {
+                continue;
+            }
+            limitersByPath.computeIfAbsent(route.getPath(), path -> new ArrayList<>())
+                    .add(new RouteLimiter(route, properties.getMaxKeys(), properties.getIdleTimeout()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        List<RouteLimiter> limiters = limitersByPath.get(request.getRequestURI().substring(request.getContextPath().length()));
+
+        if (limiters != null) {
+            long now = System.nanoTime();
+            for (RouteLimiter limiter : limiters) {
+                if (!limiter.method.equalsIgnoreCase(request.getMethod())) {
+                    continue;
+                }
+
+                long wait = limiter.tryAcquire(key(limiter.keyType, request), now);
+                if (wait > 0) {
+                    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                    response.setHeader(HttpHeaders.RETRY_AFTER,
+                            Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String key(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "u:" + authentication.getName();
+            }
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    private static class RouteLimiter {
+        private final String method;
+        private final RateLimitProperties.KeyType keyType;
+        private final long interval; // 토큰 하나가 채워지는 시간(ns)
+        private final long tolerance; // 몰아서 허용하는 양만큼의 시간(ns)
+        private final Cache<String, TokenBucket> buckets;
+
+        private RouteLimiter(RateLimitProperties.Route route, long maxKeys, Duration idleTimeout) {
+            if (route.getCapacity() <= 0 || route.getRefillPerMinute() <= 0) {
+                throw new IllegalArgumentException("invalid rate limit for " + route.getPath());
+            }
+
+            this.method = route.getMethod();
+            this.keyType = route.getKey();
+            this.interval = TimeUnit.MINUTES.toNanos(1) / route.getRefillPerMinute();
+            this.tolerance = interval * (route.getCapacity() - 1);
+
+            // 버킷이 다시 가득 찰 만큼 쉬었으면 잊어버려도 결과가 같으므로 그 이상만 기억한다
+            Duration refillTime = Duration.ofNanos(interval * route.getCapacity());
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleTimeout.compareTo(refillTime) > 0 ? idleTimeout : refillTime)
+                    .build();
+        }
+
+        private long tryAcquire(String key, long now) {
+            return buckets.get(key, k -> new TokenBucket()).tryAcquire(now, interval, tolerance);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package me.shinseong.springbootdeveloper.config.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("blog.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxKeys = 100_000; // 경로별로 기억하는 키(IP/유저)의 최대 개수
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<Route> routes = new ArrayList<>();
+
+    // 같은 경로에 IP 기준과 유저 기준을 함께 걸려면 route를 두 개 등록한다
+    @Setter
+    @Getter
+    public static class Route {
+        private String method = "POST";
+        private String path;
+        private KeyType key = KeyType.IP;
+        private int capacity; // 한 번에 몰아서 허용하는 요청 수
+        private int refillPerMinute; // 분당 다시 채워지는 요청 수
+    }
+
+    public enum KeyType {
+        IP,
+        USER // 인증된 요청은 유저 이름, 아니면 IP
+    }
+}
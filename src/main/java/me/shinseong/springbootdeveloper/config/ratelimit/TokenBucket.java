@@ -0,0 +1,26 @@
+package me.shinseong.springbootdeveloper.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 락 없는 토큰 버킷. GCRA 방식으로 "다음 토큰이 채워지는 이론상 시각(tat)" 하나만 CAS로 갱신한다.
+// 버킷이 가득 찬 상태에서 capacity개까지 몰아서 허용하고, 이후에는 interval마다 하나씩 허용한다.
+class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // 허용되면 0, 거절되면 다음 요청이 허용되기까지 남은 나노초
+    long tryAcquire(long now, long interval, long tolerance) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// DataSource -> Connection -> Statement -> ResultSet을 JDK 동적 프록시로 감싼다.
+// 문장 실행(execute*) 시간과 영향받은 행 수, ResultSet.next()로 읽은 행 수를 SqlAccounting에 넘기고 나머지 호출은 그대로 위임한다.
+// 외부 라이브러리 없이 JDBC 인터페이스만 쓰므로 커넥션 풀(Hikari)은 안쪽에 그대로 남는다.
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, Supplier<SqlAccounting> accounting) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return connection(connection, accounting.get());
+            }
+            return result;
+        });
+    }
+
+    private static Connection connection(Connection target, SqlAccounting accounting) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // createStatement()는 SQL 없이, prepareStatement(sql, ...)/prepareCall(sql, ...)은 첫 인자가 SQL
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return statement(method.getReturnType(), statement, sql, accounting);
+            }
+            return result;
+        });
+    }
+
+    private static Object statement(Class<?> type, Statement target, String sql, SqlAccounting accounting) {
+        return proxy(type, target, new StatementHandler(target, sql, accounting));
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result == Boolean.TRUE && method.getName().equals("next")) {
+                SqlStats.recordRow();
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final SqlAccounting accounting;
+        private final boolean captureBinds;
+        private Object[] binds;
+        private String batchSql;
+
+        StatementHandler(Statement target, String preparedSql, SqlAccounting accounting) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.accounting = accounting;
+            this.captureBinds = preparedSql != null && accounting.captureBinds();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (captureBinds && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = null;
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+
+            Object result = JdbcProxies.invoke(target, method, args);
+            if (result instanceof ResultSet resultSet && name.equals("getResultSet")) {
+                return resultSet(resultSet);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String text
+                    ? text
+                    : preparedSql != null ? preparedSql : batchSql;
+
+            long start = System.nanoTime();
+            Object result = JdbcProxies.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            accounting.statementExecuted(sql == null ? "<unknown>" : sql, elapsed, affectedRows(result), binds);
+
+            if (result instanceof ResultSet resultSet) {
+                return resultSet(resultSet);
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (binds == null) {
+                binds = new Object[Math.max(index, 8)];
+            } else if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            binds[index - 1] = value;
+        }
+
+        // executeUpdate는 int/long, executeBatch는 배열. SELECT 행 수는 ResultSet.next()에서 센다
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof Long count) {
+                return Math.max(count, 0);
+            }
+            long sum = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    sum += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    sum += Math.max(count, 0);
+                }
+            }
+            return sum;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            // equals/hashCode는 프록시 자신 기준으로 (풀이나 Hibernate가 키로 쓸 수 있다)
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "proxy:" + target;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return handler.invoke(proxy, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.Duration;
+
+// JDBC 프록시가 문장을 실행할 때마다 불린다. 현재 요청의 SqlStats에 더하고, 설정에 따라 로그를 남긴다.
+//  - blog.sql.log-statements: 모든 문장을 비동기 로거(sql)로 출력 (show-sql 대체)
+//  - blog.sql.slow-threshold: 이 시간을 넘긴 문장은 바인드 값과 함께 WARN으로 남긴다
+//  - blog.sql.max-statements / max-repeat: 요청 하나가 이보다 많은 문장을 내거나 같은 SQL을 연달아 반복하면 N+1 의심으로 WARN
+@Component
+public class SqlAccounting {
+
+    private static final int MAX_BIND_LENGTH = 64;
+
+    private final boolean logStatements;
+    private final long slowThresholdNanos;
+    private final int maxStatements;
+    private final int maxRepeat;
+    private final SqlLogWriter writer;
+
+    public SqlAccounting(@Value("${blog.sql.log-statements:false}") boolean logStatements,
+                         @Value("${blog.sql.slow-threshold:200ms}") Duration slowThreshold,
+                         @Value("${blog.sql.max-statements:30}") int maxStatements,
+                         @Value("${blog.sql.max-repeat:10}") int maxRepeat,
+                         @Value("${blog.sql.log-queue-capacity:4096}") int queueCapacity,
+                         @Value("${blog.sql.log-max-per-second:200}") int maxPerSecond) {
+        this.logStatements = logStatements;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxStatements = maxStatements;
+        this.maxRepeat = maxRepeat;
+        this.writer = new SqlLogWriter(queueCapacity, maxPerSecond);
+    }
+
+    // 느린 쿼리 표본에 바인드 값이 필요할 때만 프록시가 set* 호출을 기록한다
+    boolean captureBinds() {
+        return slowThresholdNanos > 0;
+    }
+
+    void statementExecuted(String sql, long elapsedNanos, long rows, Object[] binds) {
+        SqlStats.recordStatement(sql, elapsedNanos, rows);
+
+        if (logStatements) {
+            writer.info(sql);
+        }
+        if (slowThresholdNanos > 0 && elapsedNanos >= slowThresholdNanos) {
+            writer.warn("slow query " + elapsedNanos / 1_000_000 + "ms: " + sql + " binds=" + formatBinds(binds));
+        }
+    }
+
+    void requestFinished(String method, String uri, SqlStats stats) {
+        if (stats.statements() > maxStatements || stats.maxRepeat() >= maxRepeat) {
+            writer.warn("possible N+1: " + method + " " + uri
+                    + " statements=" + stats.statements()
+                    + " rows=" + stats.rows()
+                    + " dbTimeMs=" + stats.millis()
+                    + " maxRepeat=" + stats.maxRepeat()
+                    + " repeatedSql=" + stats.maxRepeatSql());
+        }
+    }
+
+    private static String formatBinds(Object[] binds) {
+        if (binds == null) {
+            return "[]";
+        }
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < binds.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(formatBind(binds[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    // 스트림/LOB은 내용 대신 타입만, 긴 문자열은 앞부분만 남긴다
+    private static String formatBind(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<byte[" + bytes.length + "]>";
+        }
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+
+        String text = String.valueOf(value);
+        if (text.length() > MAX_BIND_LENGTH) {
+            text = text.substring(0, MAX_BIND_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
+    }
+}
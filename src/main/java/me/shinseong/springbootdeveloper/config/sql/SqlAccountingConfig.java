@@ -0,0 +1,45 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlAccountingConfig {
+
+    // 풀(Hikari)이 만들어진 뒤 바깥을 프록시로 감싼다. JPA, JdbcTemplate 모두 이 빈을 주입받는다.
+    // static: BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 설정 클래스 인스턴스에 기대지 않는다.
+    // SqlAccounting은 첫 커넥션을 꺼낼 때 찾아서 이 시점에 다른 빈을 앞당겨 만들지 않는다.
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor(
+            @Value("${blog.sql.accounting-enabled:true}") boolean enabled,
+            ObjectProvider<SqlAccounting> accounting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource) {
+                    return JdbcProxies.dataSource(dataSource, SingletonSupplier.of(accounting::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 시큐리티 체인보다 바깥에서 돌아야 토큰 검증 중에 나간 쿼리까지 센다
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            SqlAccounting accounting,
+            @Value("${blog.sql.response-headers:false}") boolean responseHeaders) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(accounting, responseHeaders));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,64 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청마다 SqlStats 범위를 열고, 끝나면 N+1 가드(SqlAccounting.requestFinished)를 돌린다.
+// blog.sql.response-headers가 켜져 있으면 응답이 커밋되는 순간의 합계를 X-SQL-* 헤더로 붙인다
+// (커밋 뒤 렌더링/지연 로딩에서 나간 문장은 헤더에는 빠지고 N+1 가드에는 들어간다).
+// 비동기 요청(전체 글 내보내기)의 스트리밍 구간은 다른 스레드에서 돌기 때문에 집계되지 않는다.
+@RequiredArgsConstructor
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final SqlAccounting accounting;
+    private final boolean responseHeaders;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStats stats = SqlStats.open()) {
+            if (!responseHeaders) {
+                filterChain.doFilter(request, response);
+            } else {
+                filterChain.doFilter(request, new StatsHeaderResponse(response, stats));
+                if (!response.isCommitted()) {
+                    addHeaders(response, stats);
+                }
+            }
+            accounting.requestFinished(request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+
+    private static void addHeaders(HttpServletResponse response, SqlStats stats) {
+        response.setIntHeader(STATEMENTS_HEADER, stats.statements());
+        response.setHeader(ROWS_HEADER, Long.toString(stats.rows()));
+        response.setHeader(TIME_HEADER, Long.toString(stats.millis()));
+    }
+
+    private static final class StatsHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStats stats;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// show-sql 대신 쓰는 비동기 SQL 로거. 요청 스레드는 대기열에 offer만 하고(가득 차면 버린다), 출력은 전용 스레드가 한다.
+// 출력도 초당 maxPerSecond 줄로 제한하고, 버린 건수는 1초마다 한 줄로 알린다.
+class SqlLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger("sql");
+
+    private final BlockingQueue<Entry> queue;
+    private final int maxPerSecond;
+    private final LongAdder droppedOnOffer = new LongAdder();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    SqlLogWriter(int queueCapacity, int maxPerSecond) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxPerSecond = maxPerSecond;
+        this.thread = new Thread(this::drain, "sql-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void info(String message) {
+        offer(new Entry(false, message));
+    }
+
+    void warn(String message) {
+        offer(new Entry(true, message));
+    }
+
+    private void offer(Entry entry) {
+        if (!queue.offer(entry)) {
+            droppedOnOffer.increment();
+        }
+    }
+
+    private void drain() {
+        long windowStart = System.nanoTime();
+        int written = 0;
+        long droppedByRate = 0;
+
+        while (running || !queue.isEmpty()) {
+            Entry entry;
+            try {
+                entry = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                running = false;
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (now - windowStart >= TimeUnit.SECONDS.toNanos(1)) {
+                long dropped = droppedByRate + droppedOnOffer.sumThenReset();
+                if (dropped > 0) {
+                    log.warn("sql log dropped {} entries in the last window", dropped);
+                }
+                windowStart = now;
+                written = 0;
+                droppedByRate = 0;
+            }
+
+            if (entry == null) {
+                continue;
+            }
+            if (written >= maxPerSecond) {
+                droppedByRate++;
+                continue;
+            }
+
+            written++;
+            if (entry.warn()) {
+                log.warn(entry.message());
+            } else {
+                log.info(entry.message());
+            }
+        }
+    }
+
+    // 남은 로그를 마저 쓰고 멈춘다
+    void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Entry(boolean warn, String message) {
+    }
+}
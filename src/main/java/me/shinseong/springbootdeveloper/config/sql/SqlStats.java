@@ -0,0 +1,91 @@
+package me.shinseong.springbootdeveloper.config.sql;
+
+// 현재 스레드에서 실행된 SQL 문장 수, 읽거나 바꾼 행 수, DB 시간을 센다.
+// HTTP 요청마다 SqlAccountingFilter가 하나 열고, 테스트에서는 직접 열어서 "이 호출은 문장 N개 이하"를 검증한다.
+// 범위는 중첩할 수 있고, 기록은 열려 있는 모든 범위에 더해진다.
+// 같은 SQL이 연달아 반복된 최대 횟수도 기록한다 (N+1이면 같은 SELECT가 id만 바꿔서 줄지어 나간다).
+public final class SqlStats implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStats parent;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private String lastSql;
+    private int run;
+    private int maxRun;
+    private String maxRunSql;
+
+    private SqlStats(SqlStats parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStats open() {
+        SqlStats stats = new SqlStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    static void recordStatement(String sql, long elapsedNanos, long affectedRows) {
+        for (SqlStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+            stats.rows += affectedRows;
+
+            if (sql.equals(stats.lastSql)) {
+                stats.run++;
+            } else {
+                stats.lastSql = sql;
+                stats.run = 1;
+            }
+            if (stats.run > stats.maxRun) {
+                stats.maxRun = stats.run;
+                stats.maxRunSql = sql;
+            }
+        }
+    }
+
+    static void recordRow() {
+        for (SqlStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public long millis() {
+        return nanos / 1_000_000;
+    }
+
+    // 같은 SQL이 연달아 실행된 최대 횟수와 그 SQL
+    public int maxRepeat() {
+        return maxRun;
+    }
+
+    public String maxRepeatSql() {
+        return maxRunSql;
+    }
+}
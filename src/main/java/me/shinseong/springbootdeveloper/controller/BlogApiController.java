@@ -1,47 +1,189 @@
 package me.shinseong.springbootdeveloper.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import me.shinseong.springbootdeveloper.domain.Article;
 import me.shinseong.springbootdeveloper.dto.AddArticleRequest;
+import me.shinseong.springbootdeveloper.dto.ArticleDetail;
+import me.shinseong.springbootdeveloper.dto.ArticleListVersion;
 import me.shinseong.springbootdeveloper.dto.ArticleResponse;
+import me.shinseong.springbootdeveloper.dto.ArticleSlice;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
+import me.shinseong.springbootdeveloper.dto.ArticleViewResponse;
+import me.shinseong.springbootdeveloper.dto.BulkImportResponse;
 import me.shinseong.springbootdeveloper.dto.UpdateArticleRequest;
+import me.shinseong.springbootdeveloper.service.ArticleCache;
+import me.shinseong.springbootdeveloper.service.ArticleImportService;
+import me.shinseong.springbootdeveloper.service.ArticleSearchService;
 import me.shinseong.springbootdeveloper.service.BlogService;
+import me.shinseong.springbootdeveloper.util.ETagUtil;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RequiredArgsConstructor
 @RestController // HTTP Response Body에 객체 데이터를 JSON 형식으로 반환하는 컨트롤러
 public class BlogApiController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BlogService blogService;
+    private final ArticleCache articleCache;
+    private final ArticleSearchService articleSearchService;
+    private final ArticleImportService articleImportService;
+    private final ObjectMapper objectMapper;
 
 
-    // http://localhost:8080/api/articles
+    // http://localhost:8080/api/articles?limit=20&cursor={cursor}
+    // 다음/이전 페이지 주소는 Link 헤더(rel="next", rel="prev")로 내려준다.
     @GetMapping("/api/articles")
-    public ResponseEntity<List<ArticleResponse>> findAllArticles() {
-        List<ArticleResponse> articles = blogService.findAll()
-                .stream()
-                .map(ArticleResponse::new)
-                .toList();
+    // 목록에는 본문 전체 대신 excerpt(앞부분 요약)만 내려준다.
+    // 목록 ETag(max(updatedAt), count)가 그대로면 목록을 조회하지 않고 304를 돌려준다.
+    public ResponseEntity<List<ArticleSummary>> findAllArticles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        ArticleListVersion version = blogService.findListVersion();
+        if (webRequest.checkNotModified(ETagUtil.articleList(version))) {
+            return null;
+        }
+
+        ArticleSlice<ArticleSummary> slice = blogService.findSlice(cursor, limit);
+
+        return ResponseEntity.ok()
+                .headers(pageLinks(slice, limit))
+                .body(slice.getItems());
+    }
+
+    private static HttpHeaders pageLinks(ArticleSlice<?> slice, int limit) {
+        List<String> links = new ArrayList<>();
+
+        if (slice.hasNext()) {
+            links.add("<" + pageUrl(slice.getNextCursor(), limit) + ">; rel=\"next\"");
+        }
+        if (slice.hasPrev()) {
+            links.add("<" + pageUrl(slice.getPrevCursor(), limit) + ">; rel=\"prev\"");
+        }
 
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(", ", links));
+        }
+        return headers;
+    }
+
+    private static String pageUrl(String cursor, int limit) {
+        return UriComponentsBuilder.fromPath("/api/articles")
+                .queryParam("cursor", cursor)
+                .queryParam("limit", limit)
+                .build()
+                .toUriString();
+    }
+
+    // http://localhost:8080/api/articles/search?q={검색어}&limit=20
+    // 제목/본문 메모리 색인에서 BM25 점수 순으로 찾는다.
+    @GetMapping("/api/articles/search")
+    public ResponseEntity<List<ArticleSummary>> searchArticles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int limit) {
         return ResponseEntity.ok()
-                .body(articles);
+                .body(articleSearchService.search(q, limit));
+    }
+
+    // http://localhost:8080/api/articles/export?gzip=true
+    // 전체 글을 한 줄에 하나씩 JSON(NDJSON)으로 바로 응답 스트림에 쓴다. 목록을 만들지 않으므로 힙 사용량이 일정하다.
+    @GetMapping("/api/articles/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ObjectWriter writer = objectMapper.writerFor(ArticleViewResponse.class);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+
+            blogService.exportAll(article -> {
+                try {
+                    out.write(writer.writeValueAsBytes(new ArticleViewResponse(article)));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            out.flush();
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articles.ndjson\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return builder.body(body);
     }
 
     // http://localhost:8080/api/articles/{id}
     @GetMapping("/api/articles/{id}")
-    public ResponseEntity<ArticleResponse> findArticle(@PathVariable Long id) {
-        Article article = blogService.findById(id);
+    // 본문을 읽기 전에 수정 시각만 확인해서 ETag/Last-Modified가 일치하면 304를 돌려준다.
+    public ResponseEntity<ArticleResponse> findArticle(@PathVariable Long id, WebRequest webRequest) {
+        LocalDateTime updatedAt = blogService.findUpdatedAt(id);
+        blogService.countView(id);
+        if (updatedAt != null && webRequest.checkNotModified(
+                ETagUtil.article(id, updatedAt), ETagUtil.toEpochMilli(updatedAt))) {
+            return null;
+        }
+
+        ArticleDetail article = blogService.findById(id);
 
         return ResponseEntity.ok()
                 .body(new ArticleResponse(article));
     }
 
+    // http://localhost:8080/api/articles/{id}/views
+    // 조회수는 요청마다 바뀌므로 ETag(수정 시각)로 304를 주는 글 응답에 넣지 않고, 여기서 캐시 없이 따로 내려준다.
+    @GetMapping("/api/articles/{id}/views")
+    public ResponseEntity<Map<String, Long>> findArticleViews(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("views", blogService.findViews(id)));
+    }
+
+    // http://localhost:8080/api/cache/articles
+    // 단건 조회 캐시의 적중/실패/축출 횟수
+    @GetMapping("/api/cache/articles")
+    public ResponseEntity<Map<String, Long>> articleCacheStats() {
+        CacheStats stats = articleCache.stats();
+
+        return ResponseEntity.ok()
+                .body(Map.of(
+                        "size", articleCache.size(),
+                        "hitCount", stats.hitCount(),
+                        "missCount", stats.missCount(),
+                        "evictionCount", stats.evictionCount()));
+    }
+
     @PostMapping("/api/articles")
     public ResponseEntity<Article> addArticle(@RequestBody AddArticleRequest
                                                       request, Principal principal) {
@@ -50,6 +192,14 @@ public class BlogApiController {
                 .body(savedArticle);
     }
 
+    // 대량 등록. JSON 배열이나 NDJSON을 스트림으로 읽으면서 배치 단위로 저장하고, 실패한 항목은 결과에 모아서 알려준다.
+    @PostMapping(value = "/api/articles/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResponse> addArticles(InputStream body, Principal principal) throws IOException {
+        BulkImportResponse result = articleImportService.importArticles(body, principal.getName());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(result);
+    }
 
     // http://localhost:8080/sample/
     @GetMapping("sample")
@@ -96,10 +246,10 @@ public class BlogApiController {
     }
 
     @PutMapping("/api/articles/{id}")
-    public ResponseEntity<Article> updateArticle(@PathVariable Long id,
-                                                 @RequestBody UpdateArticleRequest request){
-        Article updatedArticle = blogService.update(id, request);
-        return ResponseEntity.ok().body(updatedArticle);
+    public ResponseEntity<ArticleResponse> updateArticle(@PathVariable long id,
+                                                         @RequestBody UpdateArticleRequest request){
+        blogService.update(id, request);
+        return ResponseEntity.ok().body(new ArticleResponse(request.getTitle(), request.getContent()));
     }
 
 
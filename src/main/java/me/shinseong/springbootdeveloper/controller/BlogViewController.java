@@ -1,38 +1,82 @@
 package me.shinseong.springbootdeveloper.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 import lombok.RequiredArgsConstructor;
-import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.config.jfr.ViewRenderEvent;
+import me.shinseong.springbootdeveloper.dto.ArticleDetail;
+import me.shinseong.springbootdeveloper.dto.ArticleListVersion;
 import me.shinseong.springbootdeveloper.dto.ArticleListViewResponse;
+import me.shinseong.springbootdeveloper.dto.ArticleSlice;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
 import me.shinseong.springbootdeveloper.dto.ArticleViewResponse;
+import me.shinseong.springbootdeveloper.service.ArticlePageCache;
 import me.shinseong.springbootdeveloper.service.BlogService;
+import me.shinseong.springbootdeveloper.util.ETagUtil;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Controller
 public class BlogViewController {
 
     private final BlogService blogService;
+    private final ArticlePageCache articlePageCache;
+    private final ITemplateEngine templateEngine;
 
+    // 목록 카드 부분은 목록 버전이 같으면 캐시된 HTML을 그대로 쓰고, 로그아웃 버튼 등 바깥 화면만 렌더링한다.
     @GetMapping("/articles")
-    public String getArticles(Model model){
-        List<ArticleListViewResponse> articles = blogService.findAll().stream()
-                .map(ArticleListViewResponse::new)
-                .toList();
-        model.addAttribute("articles", articles);
+    public String getArticles(@RequestParam(required = false) String cursor, Model model,
+                              HttpServletRequest request, HttpServletResponse response){
+        ArticleListVersion version = blogService.findListVersion();
+        String body = articlePageCache.getList(cursor, ETagUtil.articleList(version), () -> {
+            ArticleSlice<ArticleSummary> slice = blogService.findSlice(cursor, BlogService.DEFAULT_PAGE_SIZE);
+            List<ArticleListViewResponse> articles = slice.getItems().stream()
+                    .map(ArticleListViewResponse::new)
+                    .toList();
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("articles", articles);
+            variables.put("nextCursor", slice.getNextCursor());
+            variables.put("prevCursor", slice.getPrevCursor());
+
+            return render("fragment/articleListBody", 0, variables, request, response);
+        });
+        model.addAttribute("articleListBody", body);
 
         return "articleList";
     }
 
     @GetMapping("/articles/{id}")
-    public String getArticle(@PathVariable Long id, Model model){
-        Article article = blogService.findById(id);
-        model.addAttribute("article", new ArticleViewResponse(article));
+    public String getArticle(@PathVariable Long id, WebRequest webRequest, Model model,
+                             HttpServletRequest request, HttpServletResponse response){
+        // 수정 시각이 그대로면 렌더링 없이 304
+        LocalDateTime updatedAt = blogService.findUpdatedAt(id);
+        blogService.countView(id);
+        if (updatedAt != null && webRequest.checkNotModified(
+                ETagUtil.article(id, updatedAt), ETagUtil.toEpochMilli(updatedAt))) {
+            return null;
+        }
+
+        // 같은 버전의 본문이 캐시에 있으면 템플릿 엔진을 거치지 않는다
+        String body = articlePageCache.getArticle(id, String.valueOf(updatedAt), () -> {
+            ArticleDetail article = blogService.findById(id);
+            return render("fragment/articleBody", id,
+                    Map.of("article", new ArticleViewResponse(article)), request, response);
+        });
+        model.addAttribute("articleBody", body); // 조회수는 페이지가 304로 재사용돼도 바뀌어야 하므로 article.js가 따로 가져온다
 
         return "article";
     }
@@ -43,9 +87,43 @@ public class BlogViewController {
         if (id == null){
             model.addAttribute("article", new ArticleViewResponse());
         } else{
-            Article article = blogService.findById(id);
+            ArticleDetail article = blogService.findById(id);
             model.addAttribute("article", new ArticleViewResponse(article));
         }
         return "newArticle";
     }
+
+    // 캐시할 HTML 조각을 렌더링한다. @{...} 링크를 만들려면 웹 컨텍스트가 필요하다.
+    // 최종 페이지 렌더링은 ViewRenderEventInterceptor가, 조각 렌더링은 여기서 JFR(blog.ViewRender)에 남긴다.
+    private String render(String template, long articleId, Map<String, Object> variables,
+                          HttpServletRequest request, HttpServletResponse response) {
+        ViewRenderEvent event = new ViewRenderEvent();
+        event.begin();
+        JakartaServletWebApplication application =
+                JakartaServletWebApplication.buildApplication(request.getServletContext());
+        WebContext context = new WebContext(application.buildExchange(request, new NoUrlRewritingResponse(response)),
+                request.getLocale(), variables);
+
+        String html = templateEngine.process(template, context);
+        event.complete(template, true, articleId);
+        return html;
+    }
+
+    // 조각은 모든 방문자가 같이 쓰므로 @{...} 링크에 방문자의 세션 id(;jsessionid=)가 붙지 않게 한다
+    private static class NoUrlRewritingResponse extends HttpServletResponseWrapper {
+
+        private NoUrlRewritingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
 }
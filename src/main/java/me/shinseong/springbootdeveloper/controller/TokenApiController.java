@@ -1,20 +1,31 @@
 package me.shinseong.springbootdeveloper.controller;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import me.shinseong.springbootdeveloper.dto.CreateAccessTokenRequest;
 import me.shinseong.springbootdeveloper.dto.CreateAccessTokenResponse;
+import me.shinseong.springbootdeveloper.service.TokenRevocationService;
 import me.shinseong.springbootdeveloper.service.TokenService;
+import me.shinseong.springbootdeveloper.service.UserCache;
+import me.shinseong.springbootdeveloper.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RequiredArgsConstructor
 @RestController
 public class TokenApiController {
 
     private final TokenService tokenService;
+    private final UserCache userCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserService userService;
 
     @PostMapping("/api/token")
     public ResponseEntity<CreateAccessTokenResponse> createNewAccessToken(
@@ -24,4 +35,34 @@ public class TokenApiController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new CreateAccessTokenResponse(newAccessToken));
     }
+
+    // 지금 쓰고 있는 액세스 토큰을 폐기한다 (로그아웃)
+    @PostMapping("/api/token/revoke")
+    public ResponseEntity<Void> revokeToken(Authentication authentication) {
+        tokenRevocationService.revoke((String) authentication.getCredentials());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    // 이 유저에게 지금까지 발급된 모든 토큰을 폐기한다 (모든 기기에서 로그아웃)
+    @PostMapping("/api/token/revoke-all")
+    public ResponseEntity<Void> revokeAllTokens(Authentication authentication) {
+        tokenRevocationService.revokeAll(userService.findByEmail(authentication.getName()).getId());
+
+        return ResponseEntity.noContent().build();
+    }
+
+    // http://localhost:8080/api/cache/users
+    // 사용자 캐시의 적중/실패/축출 횟수
+    @GetMapping("/api/cache/users")
+    public ResponseEntity<Map<String, Long>> userCacheStats() {
+        CacheStats stats = userCache.stats();
+
+        return ResponseEntity.ok()
+                .body(Map.of(
+                        "size", userCache.size(),
+                        "hitCount", stats.hitCount(),
+                        "missCount", stats.missCount(),
+                        "evictionCount", stats.evictionCount()));
+    }
 }
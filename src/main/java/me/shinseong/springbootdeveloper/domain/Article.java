@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,25 +13,37 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity // 엔티티로 지정
+@Table(indexes = {
+        @Index(name = "idx_article_created_at_id", columnList = "created_at, id"), // 커서 페이지네이션용
+        @Index(name = "idx_article_updated_at", columnList = "updated_at") // 목록 ETag의 max(updated_at)용
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 public class Article {
 
     @Id // id 필드를 기본키로 지정
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // 기본키를 자동으로 1씩 증가
+    // 시퀀스에서 50개씩 미리 할당(pooled)받아 INSERT를 JDBC 배치로 묶을 수 있게 한다
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
     @Column(name = "id", updatable = false)
     private Long id;
 
     @Column(name = "title", nullable = false) // 'title'이라는 not null 컬럼과 매핑
     private String title;
 
-    @Column(name = "content", nullable = false)
+    // 기본 길이(255)로는 실제 글 본문이 들어가지 않는다. 목록 발췌(substring)를 DB에서 하므로 LOB 대신 긴 varchar
+    @Column(name = "content", nullable = false, length = 65_535)
     private String content;
 
     @Column(name = "author", nullable = false)
     private String author;
 
+    // 조회수. ArticleViewCounter가 모아서 주기적으로 더한다.
+    @ColumnDefault("0")
+    @Column(name = "views", nullable = false)
+    private long views;
+
     @Builder // 빌더 패턴으로 객체 생성
     public Article(String title, String content, String author) {
         this.title = title;
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
 
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
@@ -19,16 +21,23 @@ public class RefreshToken {
     @Column(name = "user_id", nullable = false, unique = true)
     private Long userId;
 
-    @Column(name = "refresh_token", nullable = false)
-    private String refreshToken;
+    // 토큰 원문은 저장하지 않고, 고정 길이 SHA-256 다이제스트에 유니크 인덱스를 걸어 조회한다
+    @Column(name = "token_hash", nullable = false, unique = true, length = TokenHashUtil.LENGTH)
+    private String tokenHash;
 
-    public RefreshToken(Long userId, String refreshToken) {
+    // 토큰의 exp(epoch 초). 지나면 ExpiredTokenPurgeJob이 지운다
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    public RefreshToken(Long userId, String refreshToken, Long expiresAt) {
         this.userId = userId;
-        this.refreshToken = refreshToken;
+        this.tokenHash = TokenHashUtil.sha256(refreshToken);
+        this.expiresAt = expiresAt;
     }
 
-    public RefreshToken update(String newRefreshToken) {
-        this.refreshToken = newRefreshToken;
+    public RefreshToken update(String newRefreshToken, Long expiresAt) {
+        this.tokenHash = TokenHashUtil.sha256(newRefreshToken);
+        this.expiresAt = expiresAt;
 
         return this;
     }
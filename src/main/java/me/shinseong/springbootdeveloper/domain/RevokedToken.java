@@ -0,0 +1,43 @@
+package me.shinseong.springbootdeveloper.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 폐기된 토큰 목록. 한 행은 둘 중 하나다.
+// - jti: 그 토큰 하나만 폐기 (로그아웃)
+// - userId + issuedBefore: 그 시각(epoch 초) 이전에 발급된 그 유저의 모든 토큰 폐기
+// expiresAt(epoch 초)이 지나면 대상 토큰이 모두 만료된 것이므로 더 이상 확인할 필요가 없다.
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "jti", length = 36, unique = true)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "issued_before")
+    private Long issuedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    @Builder
+    public RevokedToken(String jti, Long userId, Long issuedBefore, Long expiresAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.issuedBefore = issuedBefore;
+        this.expiresAt = expiresAt;
+    }
+}
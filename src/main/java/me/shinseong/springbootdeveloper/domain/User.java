@@ -14,6 +14,7 @@ import java.util.List;
 
 @Table(name = "users") //  db 테이블 이름과 이 클래스를 매핑
 @Entity // 이 클래스의 용도는 엔티티임을 명시
+@EntityListeners(UserCacheListener.class) // 저장/수정 시 사용자 캐시 무효화
 @NoArgsConstructor(access = AccessLevel.PROTECTED) //Lombok ann. 디폴드생성자 생성
 @Getter // getter 메서드들 생성
 public class User implements UserDetails { // 스프링 시큐리티 인터페이스 규격 사용
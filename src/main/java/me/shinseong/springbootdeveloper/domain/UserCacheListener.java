@@ -0,0 +1,24 @@
+package me.shinseong.springbootdeveloper.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.service.UserCache;
+import org.springframework.stereotype.Component;
+
+// User 엔티티가 저장/수정(User.update)/삭제되면 UserCache에서 해당 사용자를 지운다.
+// 스프링 부트가 Hibernate에 빈 컨테이너를 연결해 주므로 리스너도 빈으로 주입받는다.
+@RequiredArgsConstructor
+@Component
+public class UserCacheListener {
+
+    private final UserCache userCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userCache.evict(user.getId(), user.getEmail());
+    }
+}
@@ -0,0 +1,57 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 키셋 페이지네이션 커서. (created_at, id)와 방향을 담아 클라이언트에는 불투명한 문자열로 전달한다.
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ArticleCursor {
+
+    private static final String NEXT = "n";
+    private static final String PREV = "p";
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final boolean backward;
+
+    public static ArticleCursor next(LocalDateTime createdAt, Long id) {
+        return new ArticleCursor(createdAt, id, false);
+    }
+
+    public static ArticleCursor prev(LocalDateTime createdAt, Long id) {
+        return new ArticleCursor(createdAt, id, true);
+    }
+
+    public String encode() {
+        String raw = (backward ? PREV : NEXT) + DELIMITER + createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ArticleCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER);
+
+            if (parts.length != 3 || !(NEXT.equals(parts[0]) || PREV.equals(parts[0]))) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            return new ArticleCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), PREV.equals(parts[0]));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // Base64가 아니거나(IllegalArgumentException) 시각/id가 숫자가 아닌 경우(NumberFormatException 포함)
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
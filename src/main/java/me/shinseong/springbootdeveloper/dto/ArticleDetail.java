@@ -0,0 +1,27 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.Getter;
+import me.shinseong.springbootdeveloper.domain.Article;
+
+import java.time.LocalDateTime;
+
+// 단건 조회 결과의 불변 스냅샷. 영속 엔티티 대신 이 객체를 캐시에 담아 여러 스레드가 안전하게 공유한다.
+// 조회수는 자주 바뀌므로 담지 않는다 (ArticleViewCounter가 따로 들고 있다).
+@Getter
+public class ArticleDetail {
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final String author;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ArticleDetail(Article article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.author = article.getAuthor();
+        this.createdAt = article.getCreatedAt();
+        this.updatedAt = article.getUpdatedAt();
+    }
+}
@@ -0,0 +1,14 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 목록 전체의 버전 정보. 가장 최근 수정 시각과 글 개수 중 하나라도 바뀌면 목록이 바뀐 것으로 본다.
+@AllArgsConstructor
+@Getter
+public class ArticleListVersion {
+    private final LocalDateTime lastUpdatedAt;
+    private final Long count;
+}
@@ -0,0 +1,23 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 목록 조회 결과. 다음/이전 페이지가 없으면 커서는 null
+@AllArgsConstructor
+@Getter
+public class ArticleSlice<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrev() {
+        return prevCursor != null;
+    }
+}
@@ -0,0 +1,20 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 목록 조회용 프로젝션. JPQL 생성자 표현식으로 바로 만들어지므로 엔티티/영속성 컨텍스트를 거치지 않는다.
+// excerpt는 DB에서 본문 앞부분만 잘라온 값
+@AllArgsConstructor
+@Getter
+public class ArticleSummary {
+    public static final int EXCERPT_LENGTH = 200;
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final LocalDateTime createdAt;
+    private final String excerpt;
+}
@@ -23,4 +23,12 @@ public class ArticleViewResponse {
         this.author = article.getAuthor();
         this.createdAt = article.getCreatedAt();
     }
+
+    public ArticleViewResponse(ArticleDetail article) {
+        this.id = article.getId();
+        this.title = article.getTitle();
+        this.content = article.getContent();
+        this.author = article.getAuthor();
+        this.createdAt = article.getCreatedAt();
+    }
 }
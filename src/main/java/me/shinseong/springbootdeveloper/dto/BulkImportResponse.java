@@ -0,0 +1,40 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 대량 등록 결과. 실패한 항목은 입력 순번(0부터)과 사유를 남긴다.
+@Getter
+public class BulkImportResponse {
+    private static final int MAX_ERRORS = 1000;
+
+    private int imported;
+    private int failed;
+    private String abortedReason; // 입력 자체를 더 읽을 수 없어서 중간에 멈춘 경우
+    private final List<ItemError> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        this.imported += count;
+    }
+
+    public void addError(int index, String message) {
+        this.failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ItemError(index, message));
+        }
+    }
+
+    public void abort(String reason) {
+        this.abortedReason = reason;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class ItemError {
+        private final int index;
+        private final String message;
+    }
+}
@@ -0,0 +1,31 @@
+package me.shinseong.springbootdeveloper.dto;
+
+import lombok.Getter;
+import me.shinseong.springbootdeveloper.domain.User;
+
+// 사용자 조회 결과의 불변 스냅샷. 영속 엔티티 대신 이 객체를 UserCache에 담아 여러 스레드가 공유한다.
+@Getter
+public class UserIdentity {
+    private final Long id;
+    private final String email;
+    private final String nickname;
+    private final String password; // BCrypt 해시 (OAuth 가입자는 null)
+
+    public UserIdentity(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.nickname = user.getNickname();
+        this.password = user.getPassword();
+    }
+
+    private UserIdentity(UserIdentity source, String nickname) {
+        this.id = source.id;
+        this.email = source.email;
+        this.nickname = nickname;
+        this.password = source.password;
+    }
+
+    public UserIdentity withNickname(String nickname) {
+        return new UserIdentity(this, nickname);
+    }
+}
@@ -0,0 +1,12 @@
+package me.shinseong.springbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN) // 글 작성자가 아닌 유저가 수정/삭제하면 403으로 응답
+public class ArticleForbiddenException extends IllegalArgumentException {
+
+    public ArticleForbiddenException() {
+        super("not authorized");
+    }
+}
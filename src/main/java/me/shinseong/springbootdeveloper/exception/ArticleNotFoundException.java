@@ -0,0 +1,12 @@
+package me.shinseong.springbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND) // 컨트롤러 밖으로 던져지면 404로 응답
+public class ArticleNotFoundException extends IllegalArgumentException {
+
+    public ArticleNotFoundException(Long id) {
+        super("not found: " + id);
+    }
+}
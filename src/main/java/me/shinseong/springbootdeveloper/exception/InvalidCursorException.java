@@ -0,0 +1,12 @@
+package me.shinseong.springbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST) // 깨졌거나 조작된 페이지 커서는 500이 아니라 400으로 응답
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("invalid cursor: " + cursor);
+    }
+}
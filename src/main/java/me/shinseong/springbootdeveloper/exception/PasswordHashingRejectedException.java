@@ -0,0 +1,12 @@
+package me.shinseong.springbootdeveloper.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 해시 작업 대기열이 가득 차면 기다리지 않고 503으로 응답
+public class PasswordHashingRejectedException extends IllegalStateException {
+
+    public PasswordHashingRejectedException() {
+        super("password hashing queue is full");
+    }
+}
@@ -1,7 +1,81 @@
 package me.shinseong.springbootdeveloper.repository;
 
+import jakarta.persistence.QueryHint;
 import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.dto.ArticleListVersion;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BlogRepository extends JpaRepository<Article, Long> {
-}
\ No newline at end of file
+
+    String SUMMARY_SELECT = "select new me.shinseong.springbootdeveloper.dto.ArticleSummary(" +
+            "a.id, a.title, a.author, a.createdAt, substring(a.content, 1, " + ArticleSummary.EXCERPT_LENGTH + ")) " +
+            "from Article a ";
+
+    // 첫 페이지: (created_at, id) 최신순으로 limit 개만 조회
+    @Query(SUMMARY_SELECT + "order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findFirstSlice(Limit limit);
+
+    // 다음 페이지: 커서보다 오래된 글을 최신순으로 조회 (OFFSET 없이 인덱스 범위 스캔)
+    @Query(SUMMARY_SELECT +
+            "where a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id) " +
+            "order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    // 이전 페이지: 커서보다 최신 글을 오래된 순으로 조회 (호출하는 쪽에서 뒤집어서 사용)
+    @Query(SUMMARY_SELECT +
+            "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id) " +
+            "order by a.createdAt asc, a.id asc")
+    List<ArticleSummary> findSliceBefore(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    // 검색 결과의 요약 조회용
+    @Query(SUMMARY_SELECT + "where a.id in :ids")
+    List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 조건부 GET 검증용. 본문을 읽지 않고 수정 시각만 조회한다.
+    @Query("select a.updatedAt from Article a where a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // 목록 ETag 계산용 (가장 최근 수정 시각, 전체 개수)
+    @Query("select new me.shinseong.springbootdeveloper.dto.ArticleListVersion(max(a.updatedAt), count(a)) " +
+            "from Article a")
+    ArticleListVersion findListVersion();
+
+    // 수정/삭제를 조회 없이 한 문장으로 처리한다. 벌크 쿼리는 Auditing을 거치지 않으므로 updatedAt은 직접 넣는다.
+    @Modifying(clearAutomatically = true)
+    @Query("update Article a set a.title = :title, a.content = :content, a.updatedAt = :updatedAt " +
+            "where a.id = :id and a.author = :author")
+    int updateByIdAndAuthor(@Param("id") Long id,
+                            @Param("author") String author,
+                            @Param("title") String title,
+                            @Param("content") String content,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Article a where a.id = :id and a.author = :author")
+    int removeByIdAndAuthor(@Param("id") Long id, @Param("author") String author);
+
+    // 전체 내보내기용 스트림. fetch size 단위로 커서를 읽으므로 테이블 전체를 메모리에 올리지 않는다.
+    // 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Article> streamAllByOrderByIdAsc();
+}
@@ -1,11 +1,32 @@
 package me.shinseong.springbootdeveloper.repository;
 
+import jakarta.transaction.Transactional;
 import me.shinseong.springbootdeveloper.domain.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByUserId(Long userId);
-    Optional<RefreshToken> findByRefreshToken(String refreshToken);
-}
\ No newline at end of file
+
+    // 토큰 재발급에는 userId만 필요하므로 엔티티를 영속성 컨텍스트에 올리지 않는다
+    @Query("select r.userId from RefreshToken r where r.tokenHash = :tokenHash")
+    Optional<Long> findUserIdByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // 사용자당 하나뿐인 리프레시 토큰을 조회 없이 한 문장으로 등록/교체한다 (H2 MERGE ... KEY)
+    @Transactional
+    @Modifying
+    @Query(value = "MERGE INTO refresh_token (user_id, token_hash, expires_at) KEY (user_id) " +
+            "VALUES (:userId, :tokenHash, :expiresAt)", nativeQuery = true)
+    int upsert(@Param("userId") Long userId,
+               @Param("tokenHash") String tokenHash,
+               @Param("expiresAt") Long expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
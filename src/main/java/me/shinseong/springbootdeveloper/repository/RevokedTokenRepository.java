@@ -0,0 +1,15 @@
+package me.shinseong.springbootdeveloper.repository;
+
+import me.shinseong.springbootdeveloper.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // 폐기 목록을 id 순으로 이어서 읽는다 (아직 유효한 항목만)
+    @Query("select r from RevokedToken r where r.id > :id and r.expiresAt > :now order by r.id")
+    List<RevokedToken> findActiveAfter(@Param("id") long id, @Param("now") long now);
+}
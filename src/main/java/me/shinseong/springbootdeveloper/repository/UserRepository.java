@@ -1,7 +1,11 @@
 package me.shinseong.springbootdeveloper.repository;
 
+import jakarta.transaction.Transactional;
 import me.shinseong.springbootdeveloper.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +13,17 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email); // 1 email로 사용자 정보를 가져옴
     // 함수명을 findBy...로 지어야함
+
+    // OAuth 로그인 사용자를 한 문장으로 등록/갱신한다 (H2 MERGE ... KEY). 비밀번호 컬럼은 건드리지 않는다.
+    // 네이티브 쿼리라 엔티티 리스너가 돌지 않으므로 UserCache는 호출하는 쪽에서 맞춘다.
+    @Transactional
+    @Modifying
+    @Query(value = "MERGE INTO users (email, nickname) KEY (email) VALUES (:email, :nickname)", nativeQuery = true)
+    int upsertOAuthUser(@Param("email") String email, @Param("nickname") String nickname);
+
+    // 로그인 성공 시 cost가 바뀐 비밀번호 해시를 새 해시로 바꾼다
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 }
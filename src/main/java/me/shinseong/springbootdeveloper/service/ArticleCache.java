@@ -0,0 +1,62 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.shinseong.springbootdeveloper.dto.ArticleDetail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// BlogService.findById 앞단의 읽기 캐시. Caffeine(W-TinyLFU)으로 크기를 제한하고 TTL이 지나면 만료시킨다.
+@Component
+public class ArticleCache {
+
+    private final Cache<Long, ArticleDetail> cache;
+
+    public ArticleCache(@Value("${blog.cache.article.max-size:10000}") long maxSize,
+                        @Value("${blog.cache.article.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 없으면 loader로 읽어서 담는다. loader가 예외를 던지면 아무것도 담지 않는다.
+    public ArticleDetail get(Long id, Function<Long, ArticleDetail> loader) {
+        return cache.get(id, loader);
+    }
+
+    // 캐시에 있을 때만 꺼내고, 없으면 null (적중률 통계에는 포함되지 않는다)
+    public ArticleDetail getIfPresent(Long id) {
+        return cache.policy().getIfPresentQuietly(id);
+    }
+
+    // 수정/삭제 시 호출. 트랜잭션 안이라면 커밋 직후에 한 번 더 지워서
+    // 커밋 전에 다른 요청이 옛 값을 다시 채워 넣는 경우를 막는다.
+    public void evict(Long id) {
+        cache.invalidate(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,161 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.dto.AddArticleRequest;
+import me.shinseong.springbootdeveloper.dto.BulkImportResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// 글 대량 등록. 입력(JSON 배열 또는 NDJSON)을 한 건씩 읽으면서 batchSize 단위로 한 트랜잭션에 넣는다.
+// Article id는 pooled 시퀀스라서 Hibernate가 INSERT를 JDBC 배치로 묶을 수 있다.
+@RequiredArgsConstructor
+@Service
+public class ArticleImportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticlePageCache articlePageCache;
+
+    @Value("${blog.import.batch-size:500}")
+    private int batchSize;
+
+    public BulkImportResponse importArticles(InputStream inputStream, String author) throws IOException {
+        BulkImportResponse result = new BulkImportResponse();
+        ObjectReader reader = objectMapper.readerFor(AddArticleRequest.class);
+        List<Item> batch = new ArrayList<>(batchSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                // 항목 바깥(배열 또는 최상위) 문맥. 타입이 안 맞는 항목은 이 문맥까지 건너뛴다
+                JsonStreamContext outer = token.isStructStart()
+                        ? parser.getParsingContext().getParent()
+                        : parser.getParsingContext();
+                AddArticleRequest request = null;
+                String invalid;
+                try {
+                    request = reader.readValue(parser);
+                    invalid = validate(request);
+                } catch (DatabindException e) {
+                    // 문법은 맞고 값만 잘못된 항목("title": {} 등)은 그 항목만 실패로 남기고 계속 읽는다
+                    invalid = e.getOriginalMessage();
+                    skipItem(parser, outer);
+                }
+
+                if (invalid != null) {
+                    result.addError(index, invalid);
+                } else {
+                    batch.add(new Item(index, request));
+                    if (batch.size() >= batchSize) {
+                        flush(batch, author, result);
+                    }
+                }
+
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonParseException e) {
+            // 문법이 깨진 입력은 그 뒤를 읽을 수 없으므로 여기까지만 등록한다
+            result.abort("invalid input at item " + index + ": " + e.getOriginalMessage());
+        }
+
+        flush(batch, author, result);
+        articlePageCache.evictLists();
+        return result;
+    }
+
+    // 역직렬화가 중간에 멈춘 위치에서 항목의 끝(END_OBJECT)까지 이동한다
+    private static void skipItem(JsonParser parser, JsonStreamContext outer) throws IOException {
+        parser.skipChildren();
+        while (parser.getParsingContext() != outer && parser.nextToken() != null) {
+            parser.skipChildren();
+        }
+    }
+
+    private void flush(List<Item> batch, String author, BulkImportResponse result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Article> saved = transactionTemplate.execute(status -> persist(batch, author));
+            onSaved(saved);
+            result.addImported(saved.size());
+        } catch (RuntimeException e) {
+            // 배치 중 하나라도 실패하면 전체가 롤백되므로, 한 건씩 다시 넣어서 실패한 항목만 골라낸다
+            for (Item item : batch) {
+                try {
+                    List<Article> saved = transactionTemplate.execute(status -> persist(List.of(item), author));
+                    onSaved(saved);
+                    result.addImported(1);
+                } catch (RuntimeException itemException) {
+                    result.addError(item.index, itemException.getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+    }
+
+    private List<Article> persist(List<Item> items, String author) {
+        List<Article> articles = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Article article = item.request.toEntity(author);
+            entityManager.persist(article);
+            articles.add(article);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return articles;
+    }
+
+    private void onSaved(List<Article> articles) {
+        for (Article article : articles) {
+            articleSearchIndex.index(article.getId(), article.getTitle(), article.getContent());
+        }
+    }
+
+    private static String validate(AddArticleRequest request) {
+        if (request == null || request.getTitle() == null || request.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            return "content is required";
+        }
+        return null;
+    }
+
+    private static class Item {
+        private final int index;
+        private final AddArticleRequest request;
+
+        private Item(int index, AddArticleRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// 글 상세/목록 화면의 렌더링 결과(HTML 조각) 캐시.
+// 값마다 버전(수정 시각 등)을 같이 저장하고, 꺼낼 때 버전이 다르면 다시 렌더링한다.
+// 전체 크기는 문자 수 기준으로 제한한다.
+@Component
+public class ArticlePageCache {
+
+    private final Cache<Long, RenderedPage> articles;
+    private final Cache<String, RenderedPage> lists;
+
+    public ArticlePageCache(@Value("${blog.cache.page.max-chars:16000000}") long maxChars) {
+        this.articles = Caffeine.newBuilder()
+                .maximumWeight(maxChars)
+                .weigher((Long id, RenderedPage page) -> page.html.length())
+                .build();
+        this.lists = Caffeine.newBuilder()
+                .maximumWeight(maxChars / 4)
+                .weigher((String cursor, RenderedPage page) -> page.html.length())
+                .build();
+    }
+
+    public String getArticle(Long id, String version, Supplier<String> renderer) {
+        return get(articles, id, version, renderer);
+    }
+
+    // 목록은 커서(첫 페이지는 빈 문자열)별로 저장한다.
+    public String getList(String cursor, String version, Supplier<String> renderer) {
+        return get(lists, cursor == null ? "" : cursor, version, renderer);
+    }
+
+    // 글이 바뀌면 해당 글 화면과 모든 목록 화면을 지운다.
+    public void evictArticle(Long id) {
+        articles.invalidate(id);
+        lists.invalidateAll();
+    }
+
+    // 새 글이 대량으로 들어온 경우처럼 목록만 바뀐 경우
+    public void evictLists() {
+        lists.invalidateAll();
+    }
+
+    private static <K> String get(Cache<K, RenderedPage> cache, K key, String version, Supplier<String> renderer) {
+        RenderedPage page = cache.getIfPresent(key);
+        if (page != null && page.version.equals(version)) {
+            return page.html;
+        }
+
+        String html = renderer.get();
+        cache.put(key, new RenderedPage(version, html));
+        return html;
+    }
+
+    private static class RenderedPage {
+        private final String version;
+        private final String html;
+
+        private RenderedPage(String version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
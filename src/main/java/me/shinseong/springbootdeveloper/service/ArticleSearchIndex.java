@@ -0,0 +1,450 @@
+package me.shinseong.springbootdeveloper.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// 제목/본문에 대한 메모리 역색인(inverted index). BM25로 점수를 매긴다.
+// 문서는 내부 순번(ordinal)으로 관리하고, 포스팅 리스트는 int 배열로만 들고 있어서 박싱이 없다.
+// 수정은 기존 순번을 삭제 표시하고 새 순번으로 다시 넣는 방식이며, 삭제된 문서가 많아지면 압축한다.
+// 단어별 문서 수(df)는 살아있는 문서만 센다. 문서마다 자기가 들어간 포스팅 리스트를 기억해 두었다가 삭제 때 줄인다.
+@Component
+public class ArticleSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_BOOST = 2; // 제목에 나온 단어는 본문보다 2배로 센다
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] articleIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private PostingList[][] docPostings = new PostingList[1024][]; // 문서가 들어간 포스팅 리스트 (삭제 시 df를 줄이는 데 쓴다)
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+
+    // 글을 색인한다. 이미 있는 글이면 기존 색인을 대체한다.
+    public void index(Long id, String title, String content) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = countTerms(title, TITLE_BOOST, frequencies) + countTerms(content, 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+
+            int ordinal = docCount++;
+            ensureCapacity(docCount);
+            articleIds[ordinal] = id;
+            docLengths[ordinal] = length;
+            ordinals.put(id, ordinal);
+            liveCount++;
+            totalLength += length;
+
+            PostingList[] lists = new PostingList[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), key -> new PostingList());
+                list.add(ordinal, entry.getValue()[0]);
+                lists[i++] = list;
+            }
+            docPostings[ordinal] = lists;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // BM25 점수가 높은 순으로 최대 limit 개의 글 id를 반환한다. 질의어는 OR 조건으로 묶인다.
+    public long[] search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+
+        if (terms.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return new long[0];
+            }
+
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null && list.live > 0) {
+                    lists.add(list);
+                }
+            }
+
+            return topDocuments(lists, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 문서 단위(DAAT)로 포스팅 리스트들을 병합하면서 점수를 계산하고, 크기 limit의 최소 힙으로 상위 문서를 고른다.
+    // MaxScore 가지치기: 힙이 차면 단어들을 점수 상한이 작은 순으로 세워, 상한의 합이 힙의 최솟값(threshold)을 넘지 못하는
+    // 앞쪽 단어들(비필수)만 가진 문서는 후보로 꺼내지 않는다. 후보는 나머지(필수) 단어의 리스트에서만 나오고,
+    // 비필수 단어는 상한이 큰 것부터 그 문서로 건너뛰어(advance) 더하다가 남은 상한을 더해도 threshold 이하면 멈춘다.
+    // 흔한 단어가 섞인 질의에서 그 단어의 긴 포스팅 리스트를 끝까지 훑지 않는다. 결과는 전부 훑을 때와 같다.
+    private long[] topDocuments(List<PostingList> lists, int limit) {
+        int termCount = lists.size();
+        float averageLength = (float) totalLength / liveCount;
+
+        TermCursor[] terms = new TermCursor[termCount];
+        for (int i = 0; i < termCount; i++) {
+            PostingList list = lists.get(i);
+            float idf = (float) Math.log(1 + (liveCount - list.live + 0.5) / (list.live + 0.5));
+            terms[i] = new TermCursor(list, idf);
+        }
+        Arrays.sort(terms, (a, b) -> Float.compare(a.maxScore, b.maxScore));
+
+        // bounds[i] = terms[0..i]의 상한 합
+        float[] bounds = new float[termCount];
+        float sum = 0;
+        for (int i = 0; i < termCount; i++) {
+            sum += terms[i].maxScore;
+            bounds[i] = sum;
+        }
+
+        int[] heapDocs = new int[limit];
+        float[] heapScores = new float[limit];
+        int heapSize = 0;
+        int essential = 0; // terms[essential..]가 필수 단어
+
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = essential; i < termCount; i++) {
+                doc = Math.min(doc, terms[i].doc());
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+
+            boolean live = !deleted.get(doc);
+            float score = 0;
+            float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+            for (int i = essential; i < termCount; i++) {
+                TermCursor term = terms[i];
+                if (term.doc() == doc) {
+                    if (live) {
+                        score += term.score(norm);
+                    }
+                    term.cursor++;
+                }
+            }
+            if (!live) {
+                continue;
+            }
+
+            boolean pruned = false;
+            for (int i = essential - 1; i >= 0; i--) {
+                if (score + bounds[i] <= heapScores[0]) {
+                    pruned = true;
+                    break;
+                }
+                TermCursor term = terms[i];
+                term.advance(doc);
+                if (term.doc() == doc) {
+                    score += term.score(norm);
+                }
+            }
+            if (pruned) {
+                continue;
+            }
+
+            if (heapSize < limit) {
+                heapDocs[heapSize] = doc;
+                heapScores[heapSize] = score;
+                siftUp(heapDocs, heapScores, heapSize++);
+            } else if (score > heapScores[0]) {
+                heapDocs[0] = doc;
+                heapScores[0] = score;
+                siftDown(heapDocs, heapScores, heapSize);
+            } else {
+                continue;
+            }
+
+            // 힙이 차 있을 때만 threshold가 의미가 있다 (그 전에는 어떤 문서든 들어간다)
+            if (heapSize == limit) {
+                while (essential < termCount && bounds[essential] <= heapScores[0]) {
+                    essential++;
+                }
+            }
+        }
+
+        // 최소 힙을 하나씩 꺼내면서 뒤에서부터 채우면 점수 내림차순이 된다
+        long[] result = new long[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = articleIds[heapDocs[0]];
+            heapDocs[0] = heapDocs[i];
+            heapScores[0] = heapScores[i];
+            siftDown(heapDocs, heapScores, i);
+        }
+        return result;
+    }
+
+    private static void siftUp(int[] docs, float[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(docs, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] docs, float[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(docs, scores, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] docs, float[] scores, int i, int j) {
+        int doc = docs[i];
+        docs[i] = docs[j];
+        docs[j] = doc;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    private void removeInternal(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+
+        deleted.set(ordinal);
+        liveCount--;
+        totalLength -= docLengths[ordinal];
+        for (PostingList list : docPostings[ordinal]) {
+            list.live--;
+        }
+        docPostings[ordinal] = null;
+
+        int deletedCount = docCount - liveCount;
+        if (deletedCount > COMPACT_THRESHOLD && deletedCount > liveCount) {
+            compact();
+        }
+    }
+
+    // 삭제 표시된 순번을 포스팅 리스트에서 걷어내고 살아있는 문서의 순번을 앞으로 당긴다.
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                articleIds[next] = articleIds[ordinal];
+                docLengths[next] = docLengths[ordinal];
+                docPostings[next] = docPostings[ordinal];
+                remap[ordinal] = next++;
+            }
+        }
+
+        Iterator<PostingList> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            PostingList list = iterator.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        ordinals.replaceAll((id, ordinal) -> remap[ordinal]);
+        Arrays.fill(docPostings, next, docCount, null);
+        deleted.clear();
+        docCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > articleIds.length) {
+            int newLength = Math.max(capacity, articleIds.length + (articleIds.length >> 1));
+            articleIds = Arrays.copyOf(articleIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+            docPostings = Arrays.copyOf(docPostings, newLength);
+        }
+    }
+
+    private static int countTerms(String text, int weight, Map<String, int[]> frequencies) {
+        int[] count = new int[1];
+        tokenize(text, term -> {
+            frequencies.computeIfAbsent(term, key -> new int[1])[0] += weight;
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    // 영문/숫자는 소문자 단어 단위로, 한글은 형태소 분석기 없이도 부분 일치가 되도록 음절 bigram으로 자른다.
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    sink.accept(text.substring(start, i));
+                } else {
+                    for (int j = start; j < i - 1; j++) {
+                        sink.accept(text.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isHangul(text.charAt(i))) {
+                    i++;
+                }
+                sink.accept(text.substring(start, i).toLowerCase());
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    // 한 단어의 포스팅 리스트. 문서 순번은 색인 순서대로 들어오므로 항상 오름차순이다.
+    // size는 삭제 표시된 문서까지 포함한 길이, live는 살아있는 문서 수(df)다.
+    private static class PostingList {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        private int live;
+        private int maxFreq; // 점수 상한 계산용. 삭제로 줄지는 않고 압축할 때 다시 센다
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+                freqs = Arrays.copyOf(freqs, docs.length);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+            maxFreq = Math.max(maxFreq, freq);
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            maxFreq = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    maxFreq = Math.max(maxFreq, freqs[i]);
+                    next++;
+                }
+            }
+            size = next;
+        }
+    }
+
+    // 질의 하나 동안 쓰는 단어별 커서
+    private static class TermCursor {
+        private final PostingList list;
+        private final float idf;
+        // 이 단어가 한 문서에 줄 수 있는 최대 점수. tf가 가장 크고 문서 길이가 0일 때의 BM25 값이며,
+        // 부동소수 반올림으로 실제 점수보다 작아지지 않게 조금 키운다
+        private final float maxScore;
+        private int cursor;
+
+        TermCursor(PostingList list, float idf) {
+            this.list = list;
+            this.idf = idf;
+            this.maxScore = idf * list.maxFreq * (K1 + 1) / (list.maxFreq + K1 * (1 - B)) * 1.0001f;
+        }
+
+        int doc() {
+            return cursor < list.size ? list.docs[cursor] : Integer.MAX_VALUE;
+        }
+
+        float score(float norm) {
+            int tf = list.freqs[cursor];
+            return idf * tf * (K1 + 1) / (tf + norm);
+        }
+
+        // target 이상인 첫 문서로 건너뛴다. 간격을 두 배씩 늘려 범위를 잡고 그 안에서 이진 탐색한다
+        void advance(int target) {
+            int[] docs = list.docs;
+            int size = list.size;
+            if (cursor >= size || docs[cursor] >= target) {
+                return;
+            }
+
+            int low = cursor;
+            int step = 1;
+            while (low + step < size && docs[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int high = Math.min(low + step, size);
+            cursor = Arrays.binarySearch(docs, low + 1, high, target);
+            if (cursor < 0) {
+                cursor = -cursor - 1;
+            }
+        }
+    }
+}
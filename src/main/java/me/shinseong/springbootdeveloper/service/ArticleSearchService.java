@@ -0,0 +1,58 @@
+package me.shinseong.springbootdeveloper.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
+import me.shinseong.springbootdeveloper.repository.BlogRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ArticleSearchService {
+
+    public static final int MAX_RESULTS = 100;
+
+    private final BlogService blogService;
+    private final BlogRepository blogRepository;
+    private final ArticleSearchIndex articleSearchIndex;
+
+    // 애플리케이션이 뜨면 DB의 모든 글로 색인을 만든다. 이후 변경은 BlogService가 반영한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.nanoTime();
+        blogService.exportAll(article ->
+                articleSearchIndex.index(article.getId(), article.getTitle(), article.getContent()));
+        log.info("article search index built: {} articles in {} ms",
+                articleSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 색인에서 상위 id를 찾고, 요약은 한 번의 IN 쿼리로 가져와 점수 순서대로 정렬한다.
+    public List<ArticleSummary> search(String query, int limit) {
+        long[] ids = articleSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_RESULTS)));
+        if (ids.length == 0) {
+            return List.of();
+        }
+
+        Map<Long, ArticleSummary> summaries = new HashMap<>();
+        blogRepository.findSummariesByIdIn(Arrays.stream(ids).boxed().toList())
+                .forEach(summary -> summaries.put(summary.getId(), summary));
+
+        List<ArticleSummary> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            ArticleSummary summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+}
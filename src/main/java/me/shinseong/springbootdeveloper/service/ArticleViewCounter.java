@@ -0,0 +1,153 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.shinseong.springbootdeveloper.exception.ArticleNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+// 글 조회수 누적기. 조회할 때마다 UPDATE 하면 인기 글 행에 락이 몰리므로,
+// 메모리의 LongAdder(스레드별로 쪼개진 카운터)에 쌓아 두고 주기적으로 모아서 배치 UPDATE 한다.
+// 조회수는 ArticleCache의 글 스냅샷에 넣지 않고 여기서 따로 들고 있어서, flush가 글 캐시를 건드리지 않는다.
+@Slf4j
+@Service
+public class ArticleViewCounter {
+
+    private static final String FLUSH_SQL = "update article set views = views + ? where id = ?";
+    private static final String SELECT_SQL = "select views from article where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    // DB에 반영된 조회수 (id -> views). flush가 커밋한 만큼 그 자리에서 더한다
+    private final Cache<Long, Long> persisted;
+    // 아직 DB에 반영되지 않은 조회수. 항목은 지우지 않고 sumThenReset으로만 비운다
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // pending에서 꺼내 배치 UPDATE 중인 조회수. 커밋되어 persisted에 더해질 때까지 읽기에 포함된다
+    private volatile Map<Long, Long> flushing = Map.of();
+    // 값이 pending -> flushing -> persisted로 옮겨 가는 순간만 잠근다. JDBC 배치는 이 락 밖에서 실행된다
+    private final StampedLock moveLock = new StampedLock();
+
+    public ArticleViewCounter(JdbcTemplate jdbcTemplate,
+                              @Value("${blog.views.cache-size:10000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.persisted = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public void increment(Long id) {
+        LongAdder adder = pending.get(id);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(id, key -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    // 아직 DB에 반영되지 않은 조회수
+    public long pending(Long id) {
+        LongAdder adder = pending.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // DB에 반영된 조회수 + 배치 중인 조회수 + 아직 반영 전인 조회수.
+    // 보통은 락 없이(낙관적 읽기) 계산하고, 값을 옮기는 순간과 겹쳤을 때만 읽기 락으로 다시 읽는다.
+    public long views(Long id) {
+        long stamp = moveLock.tryOptimisticRead();
+        long views = cachedViews(id);
+        if (!moveLock.validate(stamp)) {
+            stamp = moveLock.readLock();
+            try {
+                views = cachedViews(id);
+            } finally {
+                moveLock.unlockRead(stamp);
+            }
+        }
+        return views >= 0 ? views : loadViews(id);
+    }
+
+    // persisted에 없으면 -1
+    private long cachedViews(Long id) {
+        Long base = persisted.getIfPresent(id);
+        return base == null ? -1 : base + flushing.getOrDefault(id, 0L) + pending(id);
+    }
+
+    // persisted에 없을 때 DB에서 읽는다. flush와 같은 모니터를 잡으므로 배치가 커밋 중인 값을 읽지 않는다.
+    // 읽기를 막는 것은 캐시에 없는 글뿐이고, 자주 읽히는 글은 위의 낙관적 읽기로 끝난다
+    private synchronized long loadViews(Long id) {
+        Long base = persisted.getIfPresent(id);
+        if (base == null) {
+            try {
+                base = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, id);
+            } catch (EmptyResultDataAccessException e) {
+                throw new ArticleNotFoundException(id);
+            }
+            persisted.put(id, base);
+        }
+        return base + pending(id);
+    }
+
+    // 쌓인 조회수를 id 순서로 한 번의 JDBC 배치로 반영한다. 종료 시에도 한 번 더 실행된다.
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:5s}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> batch.add(new Object[]{delta, id}));
+
+        boolean committed = false;
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            committed = true;
+        } catch (DataAccessException e) {
+            // 반영에 실패하면 pending으로 되돌리고 다음 주기에 다시 시도한다
+            log.warn("failed to flush {} article view counts", deltas.size(), e);
+        }
+
+        long stamp = moveLock.writeLock();
+        try {
+            if (committed) {
+                deltas.forEach((id, delta) -> persisted.asMap().computeIfPresent(id, (key, views) -> views + delta));
+            } else {
+                deltas.forEach((id, delta) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+            }
+            flushing = Map.of();
+        } finally {
+            moveLock.unlockWrite(stamp);
+        }
+    }
+
+    // pending을 비워서 flushing으로 옮긴다. sumThenReset은 칸마다 getAndSet(0)이라 그 사이의 증가분을 잃지 않는다
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        long stamp = moveLock.writeLock();
+        try {
+            pending.forEach((id, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta > 0) {
+                    deltas.put(id, delta);
+                }
+            });
+            flushing = deltas;
+        } finally {
+            moveLock.unlockWrite(stamp);
+        }
+        return deltas;
+    }
+}
@@ -1,15 +1,32 @@
 package me.shinseong.springbootdeveloper.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.config.jfr.ArticleQueryEvent;
 import me.shinseong.springbootdeveloper.domain.Article;
 import me.shinseong.springbootdeveloper.dto.AddArticleRequest;
+import me.shinseong.springbootdeveloper.dto.ArticleCursor;
+import me.shinseong.springbootdeveloper.dto.ArticleDetail;
+import me.shinseong.springbootdeveloper.dto.ArticleListVersion;
+import me.shinseong.springbootdeveloper.dto.ArticleSlice;
+import me.shinseong.springbootdeveloper.dto.ArticleSummary;
 import me.shinseong.springbootdeveloper.dto.UpdateArticleRequest;
+import me.shinseong.springbootdeveloper.exception.ArticleForbiddenException;
+import me.shinseong.springbootdeveloper.exception.ArticleNotFoundException;
 import me.shinseong.springbootdeveloper.repository.BlogRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor // Lombok 어노테이션. 클래스 내 final 또는 @NotNull 필드에 대해 자동으로 생성자를 생성함.
 // 여기서는 blogRepository가 final이므로, 이 필드를 매개변수로 받는 생성자가 자동으로 만들어짐.
@@ -19,7 +36,15 @@ import java.util.List;
 // Service 계층으로 등록되며, Controller에서 @Autowired 또는 생성자 주입으로 사용할 수 있음.
 
 public class BlogService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final ArticleCache articleCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticlePageCache articlePageCache;
+    private final ArticleViewCounter articleViewCounter;
     // BlogRepository 타입의 필드 선언, final로 지정하여 한 번 주입된 후 변경 불가.
 
     // Service 계층에서는 DB 접근 로직을 직접 구현하지 않고 Repository가 제공하는 메서드(save, findAll 등)를 사용함.
@@ -29,54 +54,174 @@ public class BlogService {
 
     // 블로그 글 추가 메서드
     public Article save(AddArticleRequest request, String userName) {
-        return blogRepository.save(request.toEntity(userName));
+        Article article = blogRepository.save(request.toEntity(userName));
+        articleCache.evict(article.getId());
+        articleSearchIndex.index(article.getId(), article.getTitle(), article.getContent());
+        articlePageCache.evictArticle(article.getId());
+        return article;
     }
 
-    public List<Article> findAll() {
-        // DB에 저장된 모든 Article Entity를 조회하는 메서드
-        return blogRepository.findAll();
-        // Repository의 findAll() 메서드를 호출하면 DB의 모든 Article 객체를 List<Article> 형태로 반환함.
-        // Service 계층은 조회 결과를 그대로 Controller나 다른 계층에 전달함.
+    // 커서 기반 목록 조회. OFFSET 대신 (created_at, id) 조건으로 잘라오므로 테이블이 커져도 페이지 비용이 일정하다.
+    // 목록은 본문 전체 대신 DB에서 잘라온 요약(ArticleSummary)만 조회한다.
+    public ArticleSlice<ArticleSummary> findSlice(String cursor, int limit) {
+        ArticleQueryEvent event = new ArticleQueryEvent();
+        event.begin();
+        ArticleSlice<ArticleSummary> slice = querySlice(cursor, limit);
+        event.complete("findSlice", 0, slice.getItems().size());
+        return slice;
     }
 
-    public Article findById(Long id) {
-        return blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
+    private ArticleSlice<ArticleSummary> querySlice(String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(size + 1); // 한 건 더 가져와서 다음 페이지 존재 여부를 판단
+
+        if (cursor == null || cursor.isBlank()) {
+            List<ArticleSummary> rows = blogRepository.findFirstSlice(fetchLimit);
+            return toSlice(rows, size, false, rows.size() > size);
+        }
+
+        ArticleCursor decoded = ArticleCursor.decode(cursor);
+
+        if (decoded.isBackward()) {
+            List<ArticleSummary> rows = new ArrayList<>(
+                    blogRepository.findSliceBefore(decoded.getCreatedAt(), decoded.getId(), fetchLimit));
+            boolean hasPrev = rows.size() > size;
+            rows = rows.subList(0, Math.min(size, rows.size()));
+            Collections.reverse(rows);
+            return toSlice(rows, size, hasPrev, true);
+        }
+
+        List<ArticleSummary> rows = blogRepository.findSliceAfter(decoded.getCreatedAt(), decoded.getId(), fetchLimit);
+        return toSlice(rows, size, true, rows.size() > size);
     }
 
-    public void delete(Long id){
-        blogRepository.deleteById(id);
+    private static ArticleSlice<ArticleSummary> toSlice(List<ArticleSummary> rows, int size,
+                                                        boolean hasPrev, boolean hasNext) {
+        List<ArticleSummary> items = rows.subList(0, Math.min(size, rows.size()));
+
+        if (items.isEmpty()) {
+            return new ArticleSlice<>(items, null, null);
+        }
+
+        ArticleSummary first = items.get(0);
+        ArticleSummary last = items.get(items.size() - 1);
+        String nextCursor = hasNext ? ArticleCursor.next(last.getCreatedAt(), last.getId()).encode() : null;
+        String prevCursor = hasPrev ? ArticleCursor.prev(first.getCreatedAt(), first.getId()).encode() : null;
+
+        return new ArticleSlice<>(items, nextCursor, prevCursor);
     }
 
+    // 모든 글을 id 순서로 하나씩 consumer에 넘긴다. 넘긴 엔티티는 바로 detach 해서 영속성 컨텍스트가 커지지 않게 한다.
     @Transactional
-    public Article update(Long id, UpdateArticleRequest request){
-        Article article = blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found: " + id));
-        article.update(request.getTitle(), request.getContent());
-        return article;
+    public void exportAll(Consumer<Article> consumer) {
+        try (Stream<Article> articles = blogRepository.streamAllByOrderByIdAsc()) {
+            articles.forEach(article -> {
+                consumer.accept(article);
+                entityManager.detach(article);
+            });
+        }
+    }
+
+    // 단건 조회는 캐시를 먼저 확인하고, 없을 때만 DB에서 읽어 불변 스냅샷으로 담아둔다.
+    public ArticleDetail findById(Long id) {
+        return articleCache.get(id, key -> {
+            ArticleQueryEvent event = new ArticleQueryEvent();
+            event.begin();
+            ArticleDetail article = blogRepository.findById(key)
+                    .map(ArticleDetail::new)
+                    .orElseThrow(() -> new ArticleNotFoundException(key));
+            event.complete("findById", key, 1);
+            return article;
+        });
     }
 
+    // 조건부 GET용 수정 시각. 캐시에 있으면 DB를 거치지 않고, 없으면 updated_at 컬럼만 읽는다.
+    public LocalDateTime findUpdatedAt(Long id) {
+        ArticleDetail cached = articleCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getUpdatedAt();
+        }
+
+        ArticleQueryEvent event = new ArticleQueryEvent();
+        event.begin();
+        LocalDateTime updatedAt = blogRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+        event.complete("findUpdatedAt", id, 1);
+        return updatedAt;
+    }
+
+    public void countView(Long id) {
+        articleViewCounter.increment(id);
+    }
+
+    // DB에 반영된 조회수 + 아직 반영 전인 조회수. 지워진 글이면 findById가 404를 던진다
+    public long findViews(Long id) {
+        findById(id);
+        return articleViewCounter.views(id);
+    }
+
+    public ArticleListVersion findListVersion() {
+        ArticleQueryEvent event = new ArticleQueryEvent();
+        event.begin();
+        ArticleListVersion version = blogRepository.findListVersion();
+        event.complete("findListVersion", 0, 1);
+        return version;
+    }
+
+    // 수정/삭제는 조회 없이 UPDATE/DELETE 한 문장으로 처리한다.
+    // 영향받은 행이 없을 때만 글이 있는지 확인해서 404(없음)와 403(작성자 아님)을 구분한다.
+    @Transactional
     public void delete(long id) {
-        Article article = blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found : " +
-                        id));
-        authorizeArticleAuthor(article);
-        blogRepository.delete(article);
+        if (blogRepository.removeByIdAndAuthor(id, currentUserName()) == 0) {
+            throw notFoundOrForbidden(id);
+        }
+        afterDelete(id);
     }
+
     @Transactional
-    public Article update(long id, UpdateArticleRequest request) {
-        Article article = blogRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("not found : " + id));
-        authorizeArticleAuthor(article);
-        article.update(request.getTitle(), request.getContent());
-        return article;
+    public void update(long id, UpdateArticleRequest request) {
+        int updated = blogRepository.updateByIdAndAuthor(id, currentUserName(),
+                request.getTitle(), request.getContent(), LocalDateTime.now());
+        if (updated == 0) {
+            throw notFoundOrForbidden(id);
+        }
+        afterUpdate(id, request);
     }
-    // 게시글을 작성한 유저인지 확인
-    private static void authorizeArticleAuthor(Article article) {
-        String userName = SecurityContextHolder.getContext().getAuthentication().
-                getName();
-        if (!article.getAuthor().equals(userName)) {
-            throw new IllegalArgumentException("not authorized");
+
+    private RuntimeException notFoundOrForbidden(long id) {
+        return blogRepository.existsById(id) ? new ArticleForbiddenException() : new ArticleNotFoundException(id);
+    }
+
+    // 검색 색인은 커밋된 뒤에만 바꾼다. 롤백되면 색인을 건드리지 않고, 다른 요청의 검색에 커밋 전 내용이 보이지 않는다.
+    private void afterUpdate(Long id, UpdateArticleRequest request) {
+        articleCache.evict(id);
+        afterCommit(() -> articleSearchIndex.index(id, request.getTitle(), request.getContent()));
+        articlePageCache.evictArticle(id);
+    }
+
+    private void afterDelete(Long id) {
+        articleCache.evict(id);
+        afterCommit(() -> articleSearchIndex.remove(id));
+        articlePageCache.evictArticle(id);
+    }
+
+    // 트랜잭션 안이면 커밋 직후에, 밖이면 바로 실행한다
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 현재 로그인한 유저 이름. 수정/삭제 쿼리의 WHERE author 조건으로 쓴다.
+    private static String currentUserName() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 }
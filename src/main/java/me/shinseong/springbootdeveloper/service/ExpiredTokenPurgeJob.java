@@ -0,0 +1,74 @@
+package me.shinseong.springbootdeveloper.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// 만료된 refresh_token / revoked_token 행을 주기적으로 지운다.
+// 한 번에 batchSize 행씩, 문장마다 자동 커밋되는 짧은 트랜잭션으로 지우고 사이사이 쉬어서 잠금을 오래 잡지 않는다.
+// 같은 조건의 DELETE를 반복할 뿐이므로 여러 서버가 동시에 돌려도 결과가 같다 (먼저 지운 쪽이 이기고 나머지는 0행).
+// 쉬는 동안 스케줄러 스레드 하나를 잡고 있으므로, 조회수 반영/폐기 목록 갱신이 밀리지 않게
+// spring.task.scheduling.pool.size를 주기 작업 수만큼 둔다 (application.yml).
+@Slf4j
+@Component
+public class ExpiredTokenPurgeJob {
+
+    private static final String[] TABLES = {"refresh_token", "revoked_token"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMillis;
+
+    public ExpiredTokenPurgeJob(JdbcTemplate jdbcTemplate,
+                                @Value("${blog.token-purge.batch-size:1000}") int batchSize,
+                                @Value("${blog.token-purge.max-batches:100}") int maxBatches,
+                                @Value("${blog.token-purge.pause-millis:50}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.token-purge.interval:1h}", initialDelayString = "${blog.token-purge.initial-delay:5m}")
+    public void purge() {
+        long now = System.currentTimeMillis() / 1000;
+        for (String table : TABLES) {
+            purge(table, now);
+        }
+    }
+
+    // 한 번 실행에 최대 maxBatches * batchSize 행까지만 지우고, 남은 건 다음 주기로 넘긴다
+    private void purge(String table, long now) {
+        String sql = "delete from " + table + " where expires_at < ? limit ?";
+
+        long started = System.nanoTime();
+        long purged = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatches) {
+                int deleted = jdbcTemplate.update(sql, now, batchSize);
+                purged += deleted;
+                batches++;
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (DataAccessException e) {
+            log.warn("failed to purge expired rows from {} after {} rows", table, purged, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (purged > 0) {
+            log.info("purged {} expired rows from {} in {} batches ({} ms)",
+                    purged, table, batches, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+}
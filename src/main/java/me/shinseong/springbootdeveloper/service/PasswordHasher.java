@@ -0,0 +1,76 @@
+package me.shinseong.springbootdeveloper.service;
+
+import jakarta.annotation.PreDestroy;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
+import me.shinseong.springbootdeveloper.exception.PasswordHashingRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 비밀번호 해시/검증 전용 실행기. BCrypt는 요청 하나에 수백 ms의 CPU를 쓰므로 톰캣 요청 스레드에서 돌리지 않는다.
+// 스레드 수와 대기열 크기를 제한하고, 대기열이 가득 차면 기다리지 않고 PasswordHashingRejectedException으로 실패시킨다.
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final BlogMetrics metrics;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          BlogMetrics metrics,
+                          @Value("${blog.password.threads:0}") int threads,
+                          @Value("${blog.password.queue-capacity:64}") int queueCapacity) {
+        this.encoder = encoder;
+        this.metrics = metrics;
+
+        // 0이면 코어의 절반만 쓴다 (나머지는 글 API 몫)
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // 비밀번호 로그인의 검증도 같은 실행기에서 돌린다
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 대기 시간(blog.password.queue)과 해시 시간(blog.password.hash)을 따로 기록한다
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                BlogMetrics.stop(metrics.getPasswordQueue(), submittedAt);
+                long start = System.nanoTime();
+                T result = task.get();
+                BlogMetrics.stop(metrics.getPasswordHash(), start);
+                return result;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
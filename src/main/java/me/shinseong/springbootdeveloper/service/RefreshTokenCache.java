@@ -0,0 +1,81 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 리프레시 토큰 다이제스트 -> userId 메모리 캐시. RefreshTokenService.findUserIdByRefreshToken 앞단에서 쓴다.
+// userId -> 현재 다이제스트 역색인을 같이 두고, 조회 시 둘이 맞을 때만 적중으로 본다.
+// 그래서 토큰을 교체할 때 옛 다이제스트를 몰라도(조회 없이 MERGE 해도) 옛 토큰은 바로 캐시에서 빠진다.
+// 다른 서버에서 교체된 토큰은 알 수 없으므로 여러 대로 띄울 때는 blog.refresh-token.cache.enabled=false로 끈다.
+@Component
+public class RefreshTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, Long> userIdByHash;
+    private final Cache<Long, String> hashByUserId;
+
+    public RefreshTokenCache(@Value("${blog.refresh-token.cache.enabled:true}") boolean enabled,
+                             @Value("${blog.refresh-token.cache.max-size:100000}") long maxSize,
+                             @Value("${blog.refresh-token.cache.ttl:14d}") Duration ttl) {
+        this.enabled = enabled;
+        this.userIdByHash = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.hashByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // 캐시에 없거나 꺼져 있으면 null
+    public Long getUserId(String tokenHash) {
+        if (!enabled) {
+            return null;
+        }
+
+        Long userId = userIdByHash.getIfPresent(tokenHash);
+        if (userId == null || !tokenHash.equals(hashByUserId.getIfPresent(userId))) {
+            return null;
+        }
+        return userId;
+    }
+
+    // DB에서 읽은 값을 담는다. 이미 다른(더 새) 다이제스트가 등록된 사용자면 덮어쓰지 않는다
+    public void put(String tokenHash, Long userId) {
+        if (enabled && hashByUserId.asMap().putIfAbsent(userId, tokenHash) == null) {
+            userIdByHash.put(tokenHash, userId);
+        }
+    }
+
+    // 사용자의 토큰이 발급/교체되면 호출한다. 옛 다이제스트는 역색인이 바뀌면서 무효가 된다
+    public void replace(String tokenHash, Long userId) {
+        if (!enabled) {
+            return;
+        }
+
+        String old = hashByUserId.asMap().put(userId, tokenHash);
+        if (old != null && !old.equals(tokenHash)) {
+            userIdByHash.invalidate(old);
+        }
+        userIdByHash.put(tokenHash, userId);
+    }
+
+    // 사용자의 리프레시 토큰이 지워지면 호출한다
+    public void evictUser(Long userId) {
+        String old = hashByUserId.asMap().remove(userId);
+        if (old != null) {
+            userIdByHash.invalidate(old);
+        }
+    }
+
+    public CacheStats stats() {
+        return userIdByHash.stats();
+    }
+}
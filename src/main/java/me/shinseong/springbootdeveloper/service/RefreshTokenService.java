@@ -1,8 +1,8 @@
 package me.shinseong.springbootdeveloper.service;
 
 import lombok.RequiredArgsConstructor;
-import me.shinseong.springbootdeveloper.domain.RefreshToken;
 import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -10,9 +10,20 @@ import org.springframework.stereotype.Service;
 public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenCache refreshTokenCache;
 
-    public RefreshToken findByRefreshToken(String refreshToken) {
-        return refreshTokenRepository.findByRefreshToken(refreshToken)
+    // 다이제스트로 캐시 -> 유니크 인덱스 순으로 찾는다
+    public Long findUserIdByRefreshToken(String refreshToken) {
+        String tokenHash = TokenHashUtil.sha256(refreshToken);
+
+        Long userId = refreshTokenCache.getUserId(tokenHash);
+        if (userId != null) {
+            return userId;
+        }
+
+        userId = refreshTokenRepository.findUserIdByTokenHash(tokenHash)
                 .orElseThrow(() -> new IllegalArgumentException("Unexpected user"));
+        refreshTokenCache.put(tokenHash, userId);
+        return userId;
     }
 }
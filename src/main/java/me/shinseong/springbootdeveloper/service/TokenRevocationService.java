@@ -0,0 +1,54 @@
+package me.shinseong.springbootdeveloper.service;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.config.jwt.JwtClaims;
+import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.config.jwt.TokenRevocationList;
+import me.shinseong.springbootdeveloper.config.oauth.OAuth2SuccessHandler;
+import me.shinseong.springbootdeveloper.domain.RevokedToken;
+import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.repository.RevokedTokenRepository;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class TokenRevocationService {
+
+    private final TokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenCache refreshTokenCache;
+
+    // 토큰 하나만 폐기한다 (로그아웃). 토큰의 exp까지만 기억하면 된다
+    public void revoke(String token) {
+        JwtClaims claims = tokenProvider.parseClaims(token);
+        if (claims == null || claims.getJti() == null) {
+            throw new IllegalArgumentException("Unexpected token");
+        }
+
+        RevokedToken revokedToken = revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.getJti())
+                .expiresAt(claims.getExpiration())
+                .build());
+        tokenRevocationList.add(revokedToken);
+    }
+
+    // 지금까지 발급된 유저의 모든 토큰을 폐기하고, 리프레시 토큰도 지워 새 토큰을 받을 수 없게 한다.
+    // 가장 오래 사는 토큰(리프레시 토큰)이 만료될 때까지 기억한다
+    @Transactional
+    public void revokeAll(Long userId) {
+        long now = System.currentTimeMillis() / 1000;
+
+        RevokedToken revokedToken = revokedTokenRepository.save(RevokedToken.builder()
+                .userId(userId)
+                .issuedBefore(now)
+                .expiresAt(now + OAuth2SuccessHandler.REFRESH_TOKEN_DURATION.toSeconds())
+                .build());
+        refreshTokenRepository.deleteByUserId(userId);
+
+        tokenRevocationList.add(revokedToken);
+        refreshTokenCache.evictUser(userId);
+    }
+}
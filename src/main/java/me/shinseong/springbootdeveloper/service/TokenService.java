@@ -2,8 +2,10 @@ package me.shinseong.springbootdeveloper.service;
 
 
 import lombok.RequiredArgsConstructor;
+import me.shinseong.springbootdeveloper.config.jfr.TokenRefreshEvent;
 import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
-import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -14,14 +16,40 @@ public class TokenService {
     private final TokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
     private final UserService userService;
+    private final BlogMetrics metrics;
 
+    // 단계별(validate -> lookup -> user -> issue)로 blog.token.refresh 타이머에 기록한다. 실패한 단계는 기록하지 않는다
+    // JFR(blog.TokenRefresh)에는 성공/실패와 관계없이 한 건씩 남긴다
     public String createNewAccessToken(String refreshToken) {
-        // 토큰 유효성 검사에 실패하면 예외 발생
-        if (!tokenProvider.validToken(refreshToken)) {
-            throw new IllegalArgumentException("Unexpected token");
+        TokenRefreshEvent event = new TokenRefreshEvent();
+        event.begin();
+        Long userId = null;
+        boolean success = false;
+        try {
+            // 토큰 유효성 검사에 실패하면 예외 발생
+            long start = System.nanoTime();
+            if (!tokenProvider.validToken(refreshToken)) {
+                throw new IllegalArgumentException("Unexpected token");
+            }
+            long validate = BlogMetrics.stop(metrics.getRefreshValidate(), start);
+
+            start = System.nanoTime();
+            userId = refreshTokenService.findUserIdByRefreshToken(refreshToken);
+            long lookup = BlogMetrics.stop(metrics.getRefreshLookup(), start);
+
+            start = System.nanoTime();
+            UserIdentity user = userService.findById(userId);
+            long load = BlogMetrics.stop(metrics.getRefreshUser(), start);
+
+            start = System.nanoTime();
+            String accessToken = tokenProvider.generateToken(user, Duration.ofHours(2));
+            long issue = BlogMetrics.stop(metrics.getRefreshIssue(), start);
+
+            event.phases(validate, lookup, load, issue);
+            success = true;
+            return accessToken;
+        } finally {
+            event.complete(userId, success);
         }
-        Long userId = refreshTokenService.findByRefreshToken(refreshToken).getUserId();
-        User user = userService.findById(userId);
-        return tokenProvider.generateToken(user, Duration.ofHours(2));
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package me.shinseong.springbootdeveloper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// UserService/UserDetailService 앞단의 사용자 캐시. 스냅샷은 id로 담고, email -> id 보조 색인을 따로 둔다.
+// 로그인(email 조회)과 토큰 재발급(id 조회)이 같은 스냅샷을 공유한다.
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserIdentity> byId;
+    private final Cache<String, Long> idByEmail;
+
+    public UserCache(@Value("${blog.cache.user.max-size:10000}") long maxSize,
+                     @Value("${blog.cache.user.ttl:30m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // 캐시에 없으면 loader로 읽어서 담는다. loader가 예외를 던지면 아무것도 담지 않는다.
+    public UserIdentity getById(Long id, Function<Long, UserIdentity> loader) {
+        UserIdentity user = byId.get(id, loader);
+        idByEmail.put(user.getEmail(), user.getId());
+        return user;
+    }
+
+    public UserIdentity getByEmail(String email, Function<String, UserIdentity> loader) {
+        UserIdentity user = getByEmailIfPresent(email);
+        if (user != null) {
+            return user;
+        }
+
+        user = loader.apply(email);
+        put(user);
+        return user;
+    }
+
+    // 캐시에 있을 때만 꺼내고, 없으면 null
+    public UserIdentity getByEmailIfPresent(String email) {
+        Long id = idByEmail.getIfPresent(email);
+        UserIdentity user = id == null ? null : byId.getIfPresent(id);
+        return user != null && user.getEmail().equals(email) ? user : null;
+    }
+
+    public void put(UserIdentity user) {
+        byId.put(user.getId(), user);
+        idByEmail.put(user.getEmail(), user.getId());
+    }
+
+    // 사용자가 저장/수정될 때 호출. 트랜잭션 안이라면 커밋 직후에 한 번 더 지운다.
+    public void evict(Long id, String email) {
+        invalidate(id, email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id, email);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return byId.stats();
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+
+    private void invalidate(Long id, String email) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (email != null) {
+            idByEmail.invalidate(email);
+        }
+    }
+}
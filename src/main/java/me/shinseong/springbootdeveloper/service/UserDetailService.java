@@ -1,20 +1,45 @@
 package me.shinseong.springbootdeveloper.service;
 
 import lombok.RequiredArgsConstructor;
-import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import me.shinseong.springbootdeveloper.repository.UserRepository;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Service
-public class UserDetailService implements UserDetailsService {
+public class UserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
+
+    // 캐시된 스냅샷으로 매번 새 UserDetails를 만든다 (스프링 시큐리티가 인증 후 비밀번호를 지울 수 있으므로 공유하지 않는다)
+    @Override
+    public UserDetails loadUserByUsername(String email){
+        UserIdentity user = userCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(UserIdentity::new)
+                .orElseThrow(() -> new UsernameNotFoundException(email)));
 
+        return new User(user.getEmail(), user.getPassword() == null ? "" : user.getPassword(),
+                List.of(new SimpleGrantedAuthority("user")));
+    }
+
+    // 비밀번호 로그인이 성공했고 저장된 해시의 cost가 현재 cost와 다르면 스프링 시큐리티가 새 해시로 호출한다
     @Override
-    public User loadUserByUsername(String email){
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException((email)));
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserIdentity current = userCache.getByEmailIfPresent(user.getUsername());
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userCache.evict(current == null ? null : current.getId(), user.getUsername());
+
+        return User.withUserDetails(user)
+                .password(newPassword)
+                .build();
     }
 }
@@ -3,32 +3,43 @@ package me.shinseong.springbootdeveloper.service;
 import lombok.RequiredArgsConstructor;
 import me.shinseong.springbootdeveloper.domain.User;
 import me.shinseong.springbootdeveloper.dto.AddUserRequest;
+import me.shinseong.springbootdeveloper.dto.UserIdentity;
 import me.shinseong.springbootdeveloper.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
 
-    public Long save(AddUserRequest dto) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    // 해시는 PasswordHasher 스레드에서 계산하고, 그 스레드에서 이어서 저장한다 (요청 스레드는 기다리지 않는다)
+    public CompletableFuture<Long> save(AddUserRequest dto) {
+        return passwordHasher.encode(dto.getPassword())
+                .thenApply(password -> {
+                    Long id = userRepository.save(User.builder()
+                            .email(dto.getEmail())
+                            .password(password)
+                            .build()).getId();
 
-        return userRepository.save(User.builder()
-                .email(dto.getEmail())
-                .password(encoder.encode(dto.getPassword()))
-                .build()).getId();
+                    userCache.evict(id, dto.getEmail());
+                    return id;
+                });
     }
 
-    public User findById(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Unexpected user"));
+    public UserIdentity findById(Long userId) {
+        return userCache.getById(userId, id -> userRepository.findById(id)
+                .map(UserIdentity::new)
+                .orElseThrow(() -> new IllegalArgumentException("Unexpected user")));
     }
 
-    public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("Unexpected user"));
+    public UserIdentity findByEmail(String email) {
+        return userCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(UserIdentity::new)
+                .orElseThrow(() -> new IllegalArgumentException("Unexpected user")));
     }
 }
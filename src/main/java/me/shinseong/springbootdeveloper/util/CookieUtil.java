@@ -3,9 +3,7 @@ package me.shinseong.springbootdeveloper.util;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.util.SerializationUtils;
-
-import java.util.Base64;
+import org.springframework.web.util.WebUtils;
 
 public class CookieUtil {
 
@@ -34,16 +32,15 @@ public class CookieUtil {
         }
     }
 
-    public static String serialize(Object obj) {
-        return Base64.getUrlEncoder()
-                .encodeToString(SerializationUtils.serialize(obj));
+    // 값을 codec으로 서명/인코딩해서 쿠키로 내려준다 (자바 직렬화를 쓰지 않는다)
+    public static <T> void addCookie(HttpServletResponse response, String name, T value,
+                                     SignedCookieCodec<T> codec, int maxAge) {
+        addCookie(response, name, codec.encode(value), maxAge);
     }
 
-    public static <T> T deserialize(Cookie cookie, Class<T> cls) {
-        return cls.cast(
-                SerializationUtils.deserialize(
-                        Base64.getUrlDecoder().decode(cookie.getValue())
-                )
-        );
+    // 쿠키가 없거나 서명/버전/유효기간이 맞지 않으면 null
+    public static <T> T getCookie(HttpServletRequest request, String name, SignedCookieCodec<T> codec) {
+        Cookie cookie = WebUtils.getCookie(request, name);
+        return cookie == null ? null : codec.decode(cookie.getValue());
     }
-}
\ No newline at end of file
+}
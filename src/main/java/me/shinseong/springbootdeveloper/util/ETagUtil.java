@@ -0,0 +1,30 @@
+package me.shinseong.springbootdeveloper.util;
+
+import me.shinseong.springbootdeveloper.dto.ArticleListVersion;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 조건부 GET(If-None-Match / If-Modified-Since)에 쓰는 검증자 생성 유틸
+public class ETagUtil {
+
+    // 글 하나의 strong ETag: (id, updatedAt)
+    public static String article(Long id, LocalDateTime updatedAt) {
+        return "\"a" + id + "-" + Long.toHexString(toEpochMicros(updatedAt)) + "\"";
+    }
+
+    // 목록의 strong ETag: (max(updatedAt), count)
+    public static String articleList(ArticleListVersion version) {
+        long lastUpdated = version.getLastUpdatedAt() == null ? 0 : toEpochMicros(version.getLastUpdatedAt());
+        return "\"l" + Long.toHexString(lastUpdated) + "-" + version.getCount() + "\"";
+    }
+
+    // Last-Modified 헤더용. 감사(Auditing) 시각은 서버 기본 시간대의 LocalDateTime으로 저장된다.
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond() * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
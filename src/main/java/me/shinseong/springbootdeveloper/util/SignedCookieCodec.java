@@ -0,0 +1,172 @@
+package me.shinseong.springbootdeveloper.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 쿠키 값으로 쓰는 서명된 바이너리 코덱. 하위 클래스는 필요한 필드만 write/read 한다.
+// 형식: [버전 1B][플래그 1B][발급 시각(초) 4B][본문(필요하면 deflate)][HMAC-SHA256 앞 16B] -> Base64url(패딩 없음)
+// 서명이 맞지 않거나, 버전이 다르거나, maxAgeSeconds가 지난 값은 null로 읽힌다.
+public abstract class SignedCookieCodec<T> {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int HEADER_LENGTH = 6;
+    private static final int MAC_LENGTH = 16;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int DEFLATE_THRESHOLD = 256; // 이보다 짧은 본문은 압축해도 이득이 없다
+    private static final int MAX_INFLATED_LENGTH = 16 * 1024;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int version;
+    private final long maxAgeSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    protected SignedCookieCodec(byte[] secret, int version, long maxAgeSeconds) {
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        this.version = version;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        macs.get();
+    }
+
+    protected abstract void write(T value, DataOutputStream out) throws IOException;
+
+    protected abstract T read(DataInputStream in) throws IOException;
+
+    public String encode(T value) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try {
+            write(value, new DataOutputStream(buffer));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] body = buffer.toByteArray();
+        int flags = 0;
+        if (body.length >= DEFLATE_THRESHOLD) {
+            byte[] deflated = deflate(body);
+            if (deflated.length < body.length) {
+                body = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        byte[] frame = new byte[HEADER_LENGTH + body.length + MAC_LENGTH];
+        ByteBuffer.wrap(frame)
+                .put((byte) version)
+                .put((byte) flags)
+                .putInt((int) (System.currentTimeMillis() / 1000))
+                .put(body);
+
+        Mac mac = macs.get();
+        mac.update(frame, 0, HEADER_LENGTH + body.length);
+        System.arraycopy(mac.doFinal(), 0, frame, HEADER_LENGTH + body.length, MAC_LENGTH);
+
+        return ENCODER.encodeToString(frame);
+    }
+
+    // 값이 없거나 유효하지 않으면 null
+    public T decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        byte[] frame;
+        try {
+            frame = DECODER.decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (frame.length < HEADER_LENGTH + MAC_LENGTH) {
+            return null;
+        }
+
+        int bodyEnd = frame.length - MAC_LENGTH;
+        Mac mac = macs.get();
+        mac.update(frame, 0, bodyEnd);
+        byte[] expected = Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(frame, bodyEnd, frame.length))) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(frame, 0, HEADER_LENGTH);
+        if (header.get() != (byte) version) {
+            return null;
+        }
+        int flags = header.get();
+        long issuedAt = Integer.toUnsignedLong(header.getInt());
+        if (System.currentTimeMillis() / 1000 - issuedAt > maxAgeSeconds) {
+            return null;
+        }
+
+        byte[] body = Arrays.copyOfRange(frame, HEADER_LENGTH, bodyEnd);
+        try {
+            if ((flags & FLAG_DEFLATED) != 0) {
+                body = inflate(body);
+            }
+            return read(new DataInputStream(new ByteArrayInputStream(body)));
+        } catch (IOException | DataFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[input.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            // 압축 결과가 원본 이상이면 압축하지 않은 것으로 본다
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : input;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated");
+                }
+                out.write(buffer, 0, length);
+                if (out.size() > MAX_INFLATED_LENGTH) {
+                    throw new DataFormatException("too large");
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package me.shinseong.springbootdeveloper.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+// 토큰 원문 대신 저장/조회 키로 쓰는 SHA-256 다이제스트 유틸
+public class TokenHashUtil {
+
+    // 다이제스트를 Base64로 인코딩한 값. 입력 길이와 상관없이 항상 44자다.
+    public static final int LENGTH = 44;
+
+    public static String sha256(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
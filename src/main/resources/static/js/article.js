@@ -18,6 +18,21 @@ if (deleteButton) {
     });
 }
 
+// 조회수 표시. 글 화면은 304로 재사용될 수 있으므로 조회수는 매번 따로 가져온다
+const viewsText = document.getElementById('views');
+
+if (viewsText) {
+    let id = document.getElementById('article-id').value;
+
+    fetch(`/api/articles/${id}/views`)
+        .then(response => response.ok ? response.json() : null)
+        .then(result => {
+            if (result) {
+                viewsText.textContent = `조회수 ${result.views}`;
+            }
+        });
+}
+
 // 수정 기능
 const modifyButton = document.getElementById('modify-btn');
 
@@ -0,0 +1,64 @@
+package me.shinseong.springbootdeveloper.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
+import me.shinseong.springbootdeveloper.exception.PasswordHashingRejectedException;
+import me.shinseong.springbootdeveloper.service.PasswordHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadedPasswordEncoderTest {
+
+    @DisplayName("matches(): 해시 실행기가 가득 차 있으면 InternalAuthenticationServiceException(원인 503)으로 바로 실패한다.")
+    @Test
+    void matchesFailsWhenHasherIsSaturated() throws Exception {
+        // given: 스레드 1개, 대기열 1칸을 모두 채운다
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blockingEncoder, new BlogMetrics(new SimpleMeterRegistry()), 1, 1);
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(hasher, blockingEncoder);
+        String hash = BCrypt.hashpw("password", BCrypt.gensalt(4));
+
+        try {
+            CompletableFuture<String> running = hasher.encode("first");
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = hasher.encode("second");
+
+            // when // then
+            assertThatThrownBy(() -> encoder.matches("password", hash))
+                    .isInstanceOf(InternalAuthenticationServiceException.class)
+                    .hasCauseInstanceOf(PasswordHashingRejectedException.class);
+
+            // 자리가 나면 다시 실행기에서 검증한다
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+            assertThat(encoder.matches("password", hash)).isTrue();
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package me.shinseong.springbootdeveloper.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinnedCostBCryptPasswordEncoderTest {
+
+    @DisplayName("upgradeEncoding(): 설정보다 낮은 cost의 해시만 다시 해시하고, 같거나 높은 cost는 그대로 둔다.")
+    @Test
+    void upgradeEncodingOnlyForLowerCost() {
+        // given
+        PinnedCostBCryptPasswordEncoder encoder = new PinnedCostBCryptPasswordEncoder(5);
+
+        // when // then
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("password", BCrypt.gensalt(4)))).isTrue();
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("password", BCrypt.gensalt(5)))).isFalse();
+        assertThat(encoder.upgradeEncoding(BCrypt.hashpw("password", BCrypt.gensalt(6)))).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+}
@@ -0,0 +1,107 @@
+package me.shinseong.springbootdeveloper.config;
+
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
+import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 비밀번호 로그인은 시큐리티 필터 체인을 거쳐야 하므로 springSecurity()를 붙여서 MockMvc를 만든다
+@SpringBootTest
+class WebOAuthSecurityConfigTest {
+
+    private static final String EMAIL = "password-user@gmail.com";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    @Autowired
+    private BlogMetrics blogMetrics;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void mockMvcSetUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        userRepository.deleteAll();
+    }
+
+    //    Given 지금 설정보다 낮은 cost(4)로 해시된 비밀번호를 가진 사용자를 저장합니다.
+    //    When 이메일/비밀번호로 로그인합니다.
+    //    Then 토큰을 받아 /articles로 이동하고, 저장된 해시가 지금 cost로 바뀌었는지,
+    //         검증과 재해시가 모두 해시 실행기(PasswordHasher)에서 돌았는지 확인합니다.
+    @DisplayName("formLogin: 비밀번호 로그인에 성공하면 토큰을 발급하고 cost가 낮은 해시를 해시 실행기에서 다시 저장한다.")
+    @Test
+    public void passwordLoginUpgradesHash() throws Exception {
+        // given
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password(BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4)))
+                .build());
+        int strength = ((PinnedCostBCryptPasswordEncoder) bCryptPasswordEncoder).getStrength();
+        // 처음 로그인할 때 provider가 없는 사용자용 더미 해시를 한 번 만들므로, 그 몫을 먼저 치르고 센다
+        mockMvc.perform(post("/login")
+                .param("username", "nobody@gmail.com")
+                .param("password", PASSWORD));
+        long hashed = blogMetrics.getPasswordHash().count();
+
+        // when
+        MvcResult result = mockMvc.perform(post("/login")
+                        .param("username", EMAIL)
+                        .param("password", PASSWORD))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getRedirectedUrl()).startsWith("/articles?token=");
+        String upgraded = userRepository.findByEmail(EMAIL).get().getPassword();
+        assertThat(upgraded).startsWith(String.format("$2a$%02d$", strength));
+        assertThat(bCryptPasswordEncoder.matches(PASSWORD, upgraded)).isTrue();
+        assertThat(blogMetrics.getPasswordHash().count() - hashed).isEqualTo(2); // 검증 1번 + 재해시 1번
+    }
+
+    //    Given 사용자를 저장합니다.
+    //    When 틀린 비밀번호로 로그인합니다.
+    //    Then 로그인 화면으로 돌아가고 저장된 해시는 그대로인지 확인합니다.
+    @DisplayName("formLogin: 비밀번호가 틀리면 로그인 화면으로 돌려보내고 해시를 바꾸지 않는다.")
+    @Test
+    public void passwordLoginFails() throws Exception {
+        // given
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4));
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .password(hash)
+                .build());
+
+        // when
+        mockMvc.perform(post("/login")
+                        .param("username", EMAIL)
+                        .param("password", "wrong"))
+                // then
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/login?error"));
+
+        assertThat(userRepository.findByEmail(EMAIL).get().getPassword()).isEqualTo(hash);
+    }
+}
@@ -0,0 +1,37 @@
+package me.shinseong.springbootdeveloper.config.jwt;
+
+import me.shinseong.springbootdeveloper.domain.RevokedToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// rebuild()는 테이블을 읽지 않으므로 저장소 없이 목록만 만들어서 확인한다
+class TokenRevocationListTest {
+
+    @DisplayName("rebuild(): 블룸 필터를 새로 만들어도 만료 전인 폐기 항목은 남고 만료된 항목만 빠진다.")
+    @Test
+    void rebuildKeepsLiveEntries() {
+        // given
+        TokenRevocationList list = new TokenRevocationList(null, 100, 0.01);
+        long now = System.currentTimeMillis() / 1000;
+        list.add(RevokedToken.builder().jti("live").expiresAt(now + 3600).build());
+        list.add(RevokedToken.builder().jti("expired").expiresAt(now - 1).build());
+        list.add(RevokedToken.builder().userId(1L).issuedBefore(now).expiresAt(now + 3600).build());
+        list.add(RevokedToken.builder().userId(2L).issuedBefore(now).expiresAt(now - 1).build());
+
+        // when
+        list.rebuild();
+
+        // then
+        assertThat(list.isRevoked("live", null, null)).isTrue();
+        assertThat(list.isRevoked("expired", null, null)).isFalse();
+        assertThat(list.isRevoked(null, 1L, now - 10)).isTrue();
+        assertThat(list.isRevoked(null, 1L, now + 10)).isFalse();
+        assertThat(list.isRevoked(null, 2L, now - 10)).isFalse();
+
+        // 다시 만든 필터에도 이후 폐기가 반영된다
+        list.add(RevokedToken.builder().jti("later").expiresAt(now + 3600).build());
+        assertThat(list.isRevoked("later", null, null)).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+package me.shinseong.springbootdeveloper.config.oauth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OAuth2AuthorizationRequestCookieCodecTest {
+
+    private final OAuth2AuthorizationRequestCookieCodec codec = new OAuth2AuthorizationRequestCookieCodec("");
+
+    private final OAuth2AuthorizationRequest authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+            .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+            .clientId("client-id")
+            .redirectUri("http://localhost:8080/login/oauth2/code/google")
+            .scopes(Set.of("email", "profile"))
+            .state("state-value")
+            .attributes(Map.of("registration_id", "google"))
+            .build();
+
+    @DisplayName("decode(): 인코딩한 인가 요청을 그대로 복원하고, 자바 직렬화보다 짧다.")
+    @Test
+    void roundTrip() {
+        // when
+        String encoded = codec.encode(authorizationRequest);
+        OAuth2AuthorizationRequest decoded = codec.decode(encoded);
+
+        // then
+        assertThat(decoded.getAuthorizationUri()).isEqualTo(authorizationRequest.getAuthorizationUri());
+        assertThat(decoded.getClientId()).isEqualTo(authorizationRequest.getClientId());
+        assertThat(decoded.getRedirectUri()).isEqualTo(authorizationRequest.getRedirectUri());
+        assertThat(decoded.getScopes()).isEqualTo(authorizationRequest.getScopes());
+        assertThat(decoded.getState()).isEqualTo(authorizationRequest.getState());
+        assertThat(decoded.<String>getAttribute("registration_id")).isEqualTo("google");
+        assertThat(decoded.getAuthorizationRequestUri()).isEqualTo(authorizationRequest.getAuthorizationRequestUri());
+
+        String serialized = Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+        assertThat(encoded.length()).isLessThan(serialized.length());
+    }
+
+    @DisplayName("decode(): 서명이 맞지 않는 쿠키 값은 null로 읽힌다.")
+    @Test
+    void decodeTampered() {
+        // given
+        String encoded = codec.encode(authorizationRequest);
+        char last = encoded.charAt(encoded.length() - 1);
+        String tampered = encoded.substring(0, encoded.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        // when
+        OAuth2AuthorizationRequest decoded = codec.decode(tampered);
+
+        // then
+        assertThat(decoded).isNull();
+    }
+}
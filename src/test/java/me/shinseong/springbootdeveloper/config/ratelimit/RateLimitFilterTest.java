@@ -0,0 +1,80 @@
+package me.shinseong.springbootdeveloper.config.ratelimit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("doFilter(): IP 필터와 유저 필터는 자기 키의 route만 세고, 한 체인에 같이 있어도 둘 다 실행된다.")
+    @Test
+    void ipAndUserFiltersEachCountTheirRoutes() throws Exception {
+        // given: 같은 경로에 IP 기준 2번, 유저 기준 1번
+        properties.setRoutes(List.of(route("/api/articles", RateLimitProperties.KeyType.IP, 2),
+                route("/api/articles", RateLimitProperties.KeyType.USER, 1)));
+        Filter ipFilter = new RateLimitFilter(properties, RateLimitProperties.KeyType.IP);
+        Filter userFilter = new RateLimitFilter(properties, RateLimitProperties.KeyType.USER);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // when
+        MockHttpServletResponse first = perform(ipFilter, userFilter);
+        MockHttpServletResponse second = perform(ipFilter, userFilter);
+
+        // then: 두 번째 요청은 IP 버킷에는 남았지만 유저 버킷이 비어서 막힌다
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(second.getHeader("Retry-After")).isNotNull();
+
+        // when: 다른 사용자는 유저 버킷이 따로지만 같은 IP의 버킷(2번)은 이미 다 썼다
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "other", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        MockHttpServletResponse third = perform(ipFilter, userFilter);
+
+        // then
+        assertThat(third.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private MockHttpServletResponse perform(Filter... filters) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/articles");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+            }
+        }, filters).doFilter(request, response);
+        return response;
+    }
+
+    private static RateLimitProperties.Route route(String path, RateLimitProperties.KeyType key, int capacity) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath(path);
+        route.setKey(key);
+        route.setCapacity(capacity);
+        route.setRefillPerMinute(1);
+        return route;
+    }
+}
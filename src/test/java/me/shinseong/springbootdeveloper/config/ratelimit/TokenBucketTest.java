@@ -0,0 +1,26 @@
+package me.shinseong.springbootdeveloper.config.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @DisplayName("tryAcquire(): capacity만큼 몰아서 허용하고, 이후에는 interval이 지나야 하나씩 허용한다.")
+    @Test
+    void tryAcquire() {
+        // given
+        TokenBucket bucket = new TokenBucket();
+        long interval = 1_000;
+        long tolerance = interval * (3 - 1); // capacity 3
+
+        // when & then
+        assertThat(bucket.tryAcquire(0, interval, tolerance)).isZero();
+        assertThat(bucket.tryAcquire(0, interval, tolerance)).isZero();
+        assertThat(bucket.tryAcquire(0, interval, tolerance)).isZero();
+        assertThat(bucket.tryAcquire(0, interval, tolerance)).isEqualTo(interval);
+        assertThat(bucket.tryAcquire(interval, interval, tolerance)).isZero();
+        assertThat(bucket.tryAcquire(interval, interval, tolerance)).isPositive();
+    }
+}
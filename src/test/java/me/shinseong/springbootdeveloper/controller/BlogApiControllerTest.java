@@ -1,27 +1,41 @@
 package me.shinseong.springbootdeveloper.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import me.shinseong.springbootdeveloper.domain.Article;
 import me.shinseong.springbootdeveloper.dto.AddArticleRequest;
 import me.shinseong.springbootdeveloper.dto.UpdateArticleRequest;
 import me.shinseong.springbootdeveloper.repository.BlogRepository;
+import me.shinseong.springbootdeveloper.service.BlogService;
+import me.shinseong.springbootdeveloper.support.SqlAssertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -73,9 +87,37 @@ class BlogApiControllerTest {
         assertThat(articles.get(0).getContent()).isEqualTo(content);
     }
 
+    //    Given 제목이 빠진 항목 하나를 포함해 NDJSON 세 줄을 준비합니다.
+    //    When 대량 등록 API를 호출합니다.
+    //    Then 두 건은 저장되고, 한 건은 입력 순번과 함께 실패로 보고되는지 확인합니다.
+    @DisplayName("addArticles: 글 대량 등록 시 실패한 항목만 따로 보고한다.")
+    @Test
+    public void addArticles() throws Exception {
+        // given
+        final String url = "/api/articles/bulk";
+        final String requestBody = """
+                {"title": "title1", "content": "content1"}
+                {"content": "content2"}
+                {"title": "title3", "content": "content3"}
+                """;
+
+        // when
+        ResultActions result = mockMvc.perform(post(url)
+                .principal(() -> "user")
+                .contentType("application/x-ndjson")
+                .content(requestBody));
+
+        // then
+        result.andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+        assertThat(blogRepository.findAll()).hasSize(2);
+    }
+
     //    Given 블로그 글을 저장합니다.
     //    When 목록 조회 API를 호출합니다.
-    //    Then 응답 코드가 200 OK이고, 반환받은 값 중에 0번째 요소의 content와 title이 저장된 값과 같은지 확인합니다.
+    //    Then 응답 코드가 200 OK이고, 반환받은 값 중에 0번째 요소의 excerpt와 title이 저장된 값과 같은지 확인합니다.
 
     @DisplayName("findAllArticles: 블로그 글 목록 조회에 성공한다.")
     @Test
@@ -96,10 +138,136 @@ class BlogApiControllerTest {
         // then
         resultActions
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].content").value(content))
+                .andExpect(jsonPath("$[0].excerpt").value(content))
                 .andExpect(jsonPath("$[0].title").value(title));
     }
 
+    //    Given 블로그 글을 3개 저장합니다.
+    //    When limit=2로 목록 조회 API를 호출합니다.
+    //    Then 최신 글 2개가 반환되고, Link 헤더에 다음 페이지 커서가 담겨 있는지 확인합니다.
+    @DisplayName("findAllArticles: 커서 기반으로 목록을 나누어 조회한다.")
+    @Test
+    public void findAllArticlesWithCursor() throws Exception {
+        // given
+        final String url = "/api/articles";
+        for (int i = 1; i <= 3; i++) {
+            blogRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .author("user")
+                    .build());
+        }
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(get(url)
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("title3"))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")));
+    }
+
+    //    Given 깨졌거나 조작된 커서를 준비합니다. (Base64가 아닌 값, 형식이 틀린 값, 시각이 틀린 값)
+    //    When 그 커서로 목록 조회 API를 호출합니다.
+    //    Then 500이 아니라 400 Bad Request가 오는지 확인합니다.
+    @DisplayName("findAllArticles: 잘못된 커서는 400을 반환한다.")
+    @Test
+    public void findAllArticlesWithInvalidCursor() throws Exception {
+        // given
+        final String url = "/api/articles";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        List<String> cursors = List.of(
+                "!!not-base64!!",
+                "garbage",
+                encoder.encodeToString("x|2024-01-01T00:00|1".getBytes(StandardCharsets.UTF_8)),
+                encoder.encodeToString("n|not-a-date|1".getBytes(StandardCharsets.UTF_8)),
+                encoder.encodeToString("n|2024-01-01T00:00|abc".getBytes(StandardCharsets.UTF_8)));
+
+        for (String cursor : cursors) {
+            // when
+            final ResultActions resultActions = mockMvc.perform(get(url)
+                    .param("cursor", cursor));
+
+            // then
+            resultActions.andExpect(status().isBadRequest());
+        }
+    }
+
+    //    Given 블로그 글을 3개 저장합니다.
+    //    When 전체 내보내기 API를 호출하고 비동기 처리가 끝날 때까지 기다립니다.
+    //    Then NDJSON 콘텐츠 타입으로, 글마다 JSON 한 줄씩 id 순서대로 내려오는지 확인합니다.
+    @DisplayName("exportArticles: 전체 글을 한 줄에 하나씩 NDJSON으로 내보낸다.")
+    @Test
+    public void exportArticles() throws Exception {
+        // given
+        final String url = "/api/articles/export";
+        saveArticles(3);
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        assertExportLines(mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8), 3);
+    }
+
+    //    Given 블로그 글을 3개 저장합니다.
+    //    When gzip=true로 전체 내보내기 API를 호출합니다.
+    //    Then Content-Encoding: gzip 헤더가 붙고, 본문을 풀면 글마다 JSON 한 줄씩 나오는지 확인합니다.
+    @DisplayName("exportArticles: gzip=true면 gzip으로 압축해서 내보낸다.")
+    @Test
+    public void exportArticlesGzip() throws Exception {
+        // given
+        final String url = "/api/articles/export";
+        saveArticles(3);
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get(url).param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        byte[] compressed = mvcResult.getResponse().getContentAsByteArray();
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertExportLines(body, 3);
+    }
+
+    private void saveArticles(int count) {
+        for (int i = 1; i <= count; i++) {
+            blogRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .author("user")
+                    .build());
+        }
+    }
+
+    private void assertExportLines(String body, int count) throws Exception {
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertThat(line.get("title").asText()).isEqualTo("title" + (i + 1));
+            assertThat(line.get("content").asText()).isEqualTo("content" + (i + 1));
+        }
+    }
 
     //    Given 블로그 글을 저장합니다.
     //    When 저장한 블로그 글의 id값으로 API를 호출합니다.
@@ -125,7 +293,114 @@ class BlogApiControllerTest {
                 .andExpect(jsonPath("$.title").value(title));
     }
 
+    //    Given 블로그 글을 저장하고 한 번 조회해서 ETag를 받아둡니다.
+    //    When 받은 ETag를 If-None-Match 헤더에 담아 다시 조회합니다.
+    //    Then 응답 코드가 304 Not Modified인지 확인합니다.
+    @DisplayName("findArticle: 글이 바뀌지 않았으면 304를 반환한다.")
+    @Test
+    public void findArticleNotModified() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .author("user")
+                .build());
+        String eTag = mockMvc.perform(get(url, savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(get(url, savedArticle.getId())
+                .header("If-None-Match", eTag));
+
+        // then
+        resultActions.andExpect(status().isNotModified());
+    }
+
+    //    Given 블로그 글을 저장하고 두 번 조회합니다. (두 번째는 304)
+    //    When 조회수 API를 호출합니다.
+    //    Then 304로 끝난 조회까지 세어지고, 조회수는 글 응답이 아니라 캐시 금지 응답으로 내려오는지 확인합니다.
+    @DisplayName("findArticleViews: 조회수는 글 응답과 따로, 캐시 없이 내려준다.")
+    @Test
+    public void findArticleViews() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .author("user")
+                .build());
+        MvcResult first = mockMvc.perform(get(url, savedArticle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").doesNotExist())
+                .andReturn();
+        mockMvc.perform(get(url, savedArticle.getId())
+                        .header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(get(url + "/views", savedArticle.getId()));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-store")))
+                .andExpect(jsonPath("$.views").value(2));
+    }
+
+    //    Given 블로그 글을 20개 저장합니다.
+    //    When 목록 조회 API를 호출합니다.
+    //    Then 글 개수와 상관없이 목록 버전 조회와 목록 조회, 두 문장만 나가는지 확인합니다.
+    @DisplayName("findAllArticles: 목록 조회는 글 개수와 상관없이 SQL 두 문장 이하로 끝난다.")
+    @Test
+    public void findAllArticlesStatementCount() throws Exception {
+        // given
+        final String url = "/api/articles";
+        for (int i = 1; i <= 20; i++) {
+            blogRepository.save(Article.builder()
+                    .title("title" + i)
+                    .content("content" + i)
+                    .author("user")
+                    .build());
+        }
+
+        // when
+        final ResultActions resultActions = SqlAssertions.assertMaxStatements(2, () ->
+                mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON)));
+
+        // then
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BlogService.DEFAULT_PAGE_SIZE));
+    }
+
+    //    Given 블로그 글을 저장합니다.
+    //    When 캐시가 비어 있는 상태에서 단건 조회 API를 호출합니다.
+    //    Then 수정 시각 조회와 본문 조회, 두 문장 이하로 끝나는지 확인합니다.
+    @DisplayName("findArticle: 단건 조회는 SQL 두 문장 이하로 끝난다.")
+    @Test
+    public void findArticleStatementCount() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .author("user")
+                .build());
+
+        // when
+        final ResultActions resultActions = SqlAssertions.assertMaxStatements(2, () ->
+                mockMvc.perform(get(url, savedArticle.getId())));
+
+        // then
+        resultActions.andExpect(status().isOk());
+    }
+
     @DisplayName("deleteArticle: 블로그 글 삭제에 성공한다.")
+    @WithMockUser(username = "user")
     @Test
     public void deleteArticle() throws Exception {
         // given
@@ -135,6 +410,7 @@ class BlogApiControllerTest {
         Article savedArticle = blogRepository.save(Article.builder()
                 .title(title)
                 .content(content)
+                .author("user")
                 .build());
         // when
         mockMvc.perform(delete(url, savedArticle.getId()))
@@ -145,6 +421,7 @@ class BlogApiControllerTest {
     }
 
     @DisplayName("updateArticle: 블로그 글 수정에 성공한다.")
+    @WithMockUser(username = "user")
     @Test
     public void updateArticle() throws Exception {
         // given
@@ -155,6 +432,7 @@ class BlogApiControllerTest {
         Article savedArticle = blogRepository.save(Article.builder()
                 .title(title)
                 .content(content)
+                .author("user")
                 .build());
 
         final String newTitle = "new Title";
@@ -174,4 +452,80 @@ class BlogApiControllerTest {
         assertThat(article.getTitle()).isEqualTo(newTitle);
         assertThat(article.getContent()).isEqualTo(newContent);
     }
+
+    @DisplayName("deleteArticle: 다른 사람의 글은 삭제하지 못하고 403을 돌려준다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void deleteArticleOfOtherAuthor() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .author("other")
+                .build());
+
+        // when
+        ResultActions result = mockMvc.perform(delete(url, savedArticle.getId()));
+
+        // then
+        result.andExpect(status().isForbidden());
+        assertThat(blogRepository.findById(savedArticle.getId())).isPresent();
+    }
+
+    @DisplayName("deleteArticle: 없는 글을 삭제하면 404를 돌려준다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void deleteArticleNotFound() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+
+        // when
+        ResultActions result = mockMvc.perform(delete(url, 999_999L));
+
+        // then
+        result.andExpect(status().isNotFound());
+    }
+
+    @DisplayName("updateArticle: 다른 사람의 글은 수정하지 못하고 403을 돌려준다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void updateArticleOfOtherAuthor() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        Article savedArticle = blogRepository.save(Article.builder()
+                .title("title")
+                .content("content")
+                .author("other")
+                .build());
+        UpdateArticleRequest request = new UpdateArticleRequest("new Title", "new Content");
+
+        // when
+        ResultActions result = mockMvc.perform(put(url, savedArticle.getId())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then
+        result.andExpect(status().isForbidden());
+        Article article = blogRepository.findById(savedArticle.getId()).get();
+        assertThat(article.getTitle()).isEqualTo("title");
+        assertThat(article.getContent()).isEqualTo("content");
+    }
+
+    @DisplayName("updateArticle: 없는 글을 수정하면 404를 돌려준다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void updateArticleNotFound() throws Exception {
+        // given
+        final String url = "/api/articles/{id}";
+        UpdateArticleRequest request = new UpdateArticleRequest("new Title", "new Content");
+
+        // when
+        ResultActions result = mockMvc.perform(put(url, 999_999L)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then
+        result.andExpect(status().isNotFound());
+    }
 }
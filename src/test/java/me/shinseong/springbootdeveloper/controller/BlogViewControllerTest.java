@@ -0,0 +1,152 @@
+package me.shinseong.springbootdeveloper.controller;
+
+import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.dto.UpdateArticleRequest;
+import me.shinseong.springbootdeveloper.repository.BlogRepository;
+import me.shinseong.springbootdeveloper.service.ArticleCache;
+import me.shinseong.springbootdeveloper.service.ArticleImportService;
+import me.shinseong.springbootdeveloper.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 렌더링된 HTML 조각 캐시(ArticlePageCache)가 같은 버전이면 재사용되고, 수정/삭제/대량 등록 뒤에는 새로 렌더링되는지 확인한다.
+// "캐시에서 나왔다"는 것을 보려고 수정 시각은 그대로 둔 채 JDBC로 제목만 바꿔서, 화면에 옛 제목이 남는지 본다.
+@SpringBootTest
+class BlogViewControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private BlogRepository blogRepository;
+    @Autowired
+    private BlogService blogService;
+    @Autowired
+    private ArticleImportService articleImportService;
+    @Autowired
+    private ArticleCache articleCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void mockMvcSetUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .build();
+        blogRepository.deleteAll();
+    }
+
+    //    Given 글을 저장하고 상세 화면을 한 번 렌더링합니다.
+    //    When 수정 시각은 그대로 두고 DB의 제목만 바꾼 뒤 다시 조회하고, 이어서 BlogService.update로 수정합니다.
+    //    Then 버전이 같을 때는 캐시된 옛 HTML이, 수정 뒤에는 새 제목으로 렌더링된 HTML이 나오는지 확인합니다.
+    @DisplayName("getArticle: 같은 버전이면 캐시된 본문을 쓰고, 수정 뒤에는 다시 렌더링한다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void getArticleUsesCachedFragmentUntilUpdate() throws Exception {
+        // given
+        long id = saveArticle("cached title");
+        assertThat(getHtml("/articles/" + id)).contains("cached title");
+
+        // when: 같은 버전 (updated_at 그대로)
+        changeTitleQuietly(id, "hidden title");
+
+        // then
+        assertThat(getHtml("/articles/" + id))
+                .contains("cached title")
+                .doesNotContain("hidden title");
+
+        // when: 서비스로 수정
+        blogService.update(id, new UpdateArticleRequest("updated title", "updated content"));
+
+        // then
+        assertThat(getHtml("/articles/" + id))
+                .contains("updated title")
+                .doesNotContain("cached title");
+    }
+
+    //    Given 글 두 개를 저장하고 목록 화면을 한 번 렌더링합니다.
+    //    When DB의 제목만 바꾼 뒤 다시 조회하고, 이어서 BlogService.delete로 한 글을 지웁니다.
+    //    Then 버전이 같을 때는 캐시된 목록이, 삭제 뒤에는 지운 글이 빠진 목록이 나오는지 확인합니다.
+    @DisplayName("getArticles: 같은 버전이면 캐시된 목록을 쓰고, 삭제 뒤에는 다시 렌더링한다.")
+    @WithMockUser(username = "user")
+    @Test
+    public void getArticlesUsesCachedFragmentUntilDelete() throws Exception {
+        // given
+        long kept = saveArticle("kept title");
+        long deleted = saveArticle("deleted title");
+        assertThat(getHtml("/articles")).contains("kept title", "deleted title");
+
+        // when: 같은 버전
+        changeTitleQuietly(kept, "hidden title");
+
+        // then
+        assertThat(getHtml("/articles"))
+                .contains("kept title", "deleted title")
+                .doesNotContain("hidden title");
+
+        // when: 서비스로 삭제
+        blogService.delete(deleted);
+
+        // then
+        assertThat(getHtml("/articles"))
+                .contains("hidden title")
+                .doesNotContain("deleted title");
+    }
+
+    //    Given 글을 저장하고 목록 화면을 한 번 렌더링합니다.
+    //    When 대량 등록으로 새 글을 넣습니다.
+    //    Then 다시 조회한 목록에 새 글이 보이는지 확인합니다.
+    @DisplayName("getArticles: 대량 등록 뒤에는 목록을 다시 렌더링한다.")
+    @Test
+    public void getArticlesRerendersAfterBulkImport() throws Exception {
+        // given
+        saveArticle("existing title");
+        assertThat(getHtml("/articles")).contains("existing title");
+
+        // when
+        String ndjson = """
+                {"title": "imported title", "content": "imported content"}
+                """;
+        articleImportService.importArticles(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "user");
+
+        // then
+        assertThat(getHtml("/articles")).contains("existing title", "imported title");
+    }
+
+    private long saveArticle(String title) {
+        return blogRepository.save(Article.builder()
+                .title(title)
+                .content("content")
+                .author("user")
+                .build()).getId();
+    }
+
+    // 수정 시각을 바꾸지 않고 제목만 바꾼다. 단건 조회 캐시도 비워서, 옛 제목이 보이면 HTML 조각 캐시에서 나온 것이다.
+    private void changeTitleQuietly(long id, String title) {
+        jdbcTemplate.update("update article set title = ? where id = ?", title, id);
+        articleCache.evict(id);
+    }
+
+    private String getHtml(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package me.shinseong.springbootdeveloper.service;
+
+import me.shinseong.springbootdeveloper.domain.Article;
+import me.shinseong.springbootdeveloper.dto.BulkImportResponse;
+import me.shinseong.springbootdeveloper.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ArticleImportServiceTest {
+
+    @Autowired
+    private ArticleImportService articleImportService;
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @BeforeEach
+    public void setUp() {
+        blogRepository.deleteAll();
+    }
+
+    @DisplayName("importArticles(): 값의 타입이 틀린 줄은 그 줄만 실패로 남기고 뒤의 줄은 계속 등록한다.")
+    @Test
+    public void importArticlesSkipsMistypedItem() throws Exception {
+        // given
+        String ndjson = """
+                {"title": "first", "content": "content"}
+                {"title": {}, "content": "content"}
+                {"title": "second", "content": "content"}
+                {"title": "third", "content": {"nested": [1, 2]}}
+                {"title": "fourth", "content": "content"}
+                """;
+
+        // when
+        BulkImportResponse result = articleImportService.importArticles(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "user");
+
+        // then
+        assertThat(result.getAbortedReason()).isNull();
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors())
+                .extracting(BulkImportResponse.ItemError::getIndex)
+                .containsExactly(1, 3);
+        assertThat(blogRepository.findAll())
+                .extracting(Article::getTitle)
+                .containsExactlyInAnyOrder("first", "second", "fourth");
+    }
+
+    @DisplayName("importArticles(): 문법이 깨진 입력은 그 앞까지만 등록하고 멈춘다.")
+    @Test
+    public void importArticlesAbortsOnMalformedInput() throws Exception {
+        // given
+        String ndjson = """
+                {"title": "first", "content": "content"}
+                {"title": "second", "content": "content"
+                {"title": "third", "content": "content"}
+                """;
+
+        // when
+        BulkImportResponse result = articleImportService.importArticles(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "user");
+
+        // then
+        assertThat(result.getAbortedReason()).startsWith("invalid input at item 1");
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(blogRepository.findAll())
+                .extracting(Article::getTitle)
+                .containsExactly("first");
+    }
+}
@@ -0,0 +1,99 @@
+package me.shinseong.springbootdeveloper.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    @DisplayName("search(): 제목에 검색어가 있는 글이 더 높은 순위로 검색된다.")
+    @Test
+    void search() {
+        // given
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(1L, "Spring Boot", "JPA와 시큐리티를 다룹니다.");
+        index.index(2L, "일기", "오늘은 spring 날씨가 좋았다.");
+        index.index(3L, "요리", "김치찌개 만드는 법");
+
+        // when
+        long[] result = index.search("spring", 10);
+
+        // then
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("search(): 한글은 음절 bigram으로 부분 일치 검색이 된다.")
+    @Test
+    void searchKorean() {
+        // given
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(1L, "요리", "김치찌개 만드는 법");
+        index.index(2L, "일기", "오늘은 날씨가 좋았다.");
+
+        // when
+        long[] result = index.search("찌개", 10);
+
+        // then
+        assertThat(result).containsExactly(1L);
+    }
+
+    @DisplayName("index()/remove(): 수정과 삭제가 색인에 바로 반영된다.")
+    @Test
+    void updateAndRemove() {
+        // given
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(1L, "Spring", "content");
+        index.index(2L, "Java", "content");
+
+        // when
+        index.index(1L, "Kotlin", "content");
+        index.remove(2L);
+
+        // then
+        assertThat(index.search("spring", 10)).isEmpty();
+        assertThat(index.search("java", 10)).isEmpty();
+        assertThat(index.search("kotlin", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @DisplayName("search(): 흔한 단어가 섞인 질의도 드문 단어가 있는 글을 먼저 찾고, 상위 limit개만 돌려준다.")
+    @Test
+    void searchWithCommonTerm() {
+        // given: "spring"은 거의 모든 글에, "kotlin"은 두 글에만 있다
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        for (long id = 1; id <= 200; id++) {
+            index.index(id, "post", "spring " + "filler ".repeat((int) (id % 7)));
+        }
+        index.index(201L, "post", "spring kotlin");
+        index.index(202L, "post", "kotlin");
+
+        // when
+        long[] result = index.search("spring kotlin", 3);
+
+        // then: kotlin이 있는 두 글이 먼저 (더 짧은 202가 앞)
+        assertThat(result).hasSize(3).startsWith(202L, 201L);
+    }
+
+    @DisplayName("remove(): 지운 글은 단어별 문서 수(df)에서도 빠져서 점수에 반영된다.")
+    @Test
+    void removeUpdatesDocumentFrequency() {
+        // given: 처음에는 java가 더 흔해서(df 6) kotlin 글이 위에 온다
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(1L, "post", "java");
+        index.index(2L, "post", "kotlin");
+        index.index(3L, "post", "kotlin");
+        for (long id = 10; id < 15; id++) {
+            index.index(id, "post", "java");
+        }
+        assertThat(index.search("java kotlin", 1)).containsExactly(2L);
+
+        // when
+        for (long id = 10; id < 15; id++) {
+            index.remove(id);
+        }
+
+        // then: java df 1 < kotlin df 2
+        assertThat(index.search("java kotlin", 1)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,142 @@
+package me.shinseong.springbootdeveloper.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// DB 대신 맵(id -> views)에 UPDATE를 반영하는 JdbcTemplate으로 누적기만 떼어서 확인한다.
+class ArticleViewCounterTest {
+
+    private final Map<Long, Long> table = new ConcurrentHashMap<>();
+    private final AtomicInteger selects = new AtomicInteger();
+    private Runnable onBatchApplied = () -> { };
+    private boolean failBatch;
+    private ArticleViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (failBatch) {
+                    throw new QueryTimeoutException("timeout");
+                }
+                for (Object[] args : batchArgs) {
+                    table.merge((Long) args[1], (Long) args[0], Long::sum);
+                }
+                onBatchApplied.run();
+                return new int[batchArgs.size()];
+            }
+
+            @Override
+            public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+                selects.incrementAndGet();
+                return requiredType.cast(table.get((Long) args[0]));
+            }
+        };
+        table.put(1L, 0L);
+        counter = new ArticleViewCounter(jdbcTemplate, 100);
+    }
+
+    @DisplayName("views(): DB에 반영된 조회수와 아직 반영 전인 조회수를 더해서 돌려준다.")
+    @Test
+    void viewsAddsPendingToPersisted() {
+        // given
+        table.put(1L, 10L);
+
+        // when
+        counter.increment(1L);
+        counter.increment(1L);
+
+        // then
+        assertThat(counter.pending(1L)).isEqualTo(2);
+        assertThat(counter.views(1L)).isEqualTo(12);
+    }
+
+    @DisplayName("flush(): 누적된 조회수를 DB로 옮기고, 읽어 둔 조회수는 지우지 않고 그 자리에서 더한다.")
+    @Test
+    void flushMovesPendingToDatabase() {
+        // given
+        assertThat(counter.views(1L)).isZero();
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(1L);
+
+        // when
+        counter.flush();
+
+        // then
+        assertThat(table.get(1L)).isEqualTo(3);
+        assertThat(counter.pending(1L)).isZero();
+        assertThat(counter.views(1L)).isEqualTo(3);
+        assertThat(selects.get()).isEqualTo(1);
+
+        // 반영 뒤에 들어온 조회수는 다시 누적된다
+        counter.increment(1L);
+        assertThat(counter.views(1L)).isEqualTo(4);
+    }
+
+    @DisplayName("views(): 배치 UPDATE가 도는 동안에도 기다리지 않고, 같은 조회수를 두 번 세지 않는다.")
+    @Test
+    void viewsDuringFlushDoesNotBlock() throws Exception {
+        // given
+        counter.views(1L);
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.increment(1L);
+
+        // DB에는 이미 3이 들어갔지만 아직 배치가 끝나지 않은 순간에 다른 스레드에서 읽는다
+        CompletableFuture<Long> seen = new CompletableFuture<>();
+        onBatchApplied = () -> {
+            try {
+                seen.complete(CompletableFuture.supplyAsync(() -> counter.views(1L)).get(5, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                seen.completeExceptionally(e);
+            }
+        };
+
+        // when
+        counter.flush();
+
+        // then
+        assertThat(seen.get()).isEqualTo(3);
+        assertThat(counter.views(1L)).isEqualTo(3);
+    }
+
+    @DisplayName("flush(): 배치 중에 들어온 조회수는 다음 주기로 남고, 실패한 배치는 누적값으로 되돌린다.")
+    @Test
+    void flushKeepsLateAndFailedViews() {
+        // given
+        counter.views(1L);
+        counter.increment(1L);
+        onBatchApplied = () -> counter.increment(1L);
+
+        // when
+        counter.flush();
+
+        // then
+        assertThat(table.get(1L)).isEqualTo(1);
+        assertThat(counter.pending(1L)).isEqualTo(1);
+        assertThat(counter.views(1L)).isEqualTo(2);
+
+        // when: DB 반영 실패
+        failBatch = true;
+        counter.flush();
+
+        // then
+        assertThat(table.get(1L)).isEqualTo(1);
+        assertThat(counter.pending(1L)).isEqualTo(1);
+        assertThat(counter.views(1L)).isEqualTo(2);
+    }
+}
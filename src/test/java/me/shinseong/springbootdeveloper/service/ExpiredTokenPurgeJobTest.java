@@ -0,0 +1,78 @@
+package me.shinseong.springbootdeveloper.service;
+
+import me.shinseong.springbootdeveloper.domain.RefreshToken;
+import me.shinseong.springbootdeveloper.domain.RevokedToken;
+import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExpiredTokenPurgeJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        revokedTokenRepository.deleteAll();
+    }
+
+    //    Given 만료된 리프레시 토큰 5개와 유효한 2개, 만료된 폐기 행 1개와 유효한 1개를 저장합니다.
+    //    When 한 번에 2행씩, 최대 2번만 지우도록 한 작업을 두 번 실행합니다.
+    //    Then 첫 실행은 4행까지만 지우고 나머지는 다음 실행에서 지우며, 유효한 행은 끝까지 남는지 확인합니다.
+    @DisplayName("purge(): 만료된 행만 batchSize씩 지우고, 한 번에 maxBatches를 넘는 몫은 다음 실행으로 넘긴다.")
+    @Test
+    void purgeDeletesOnlyExpiredRowsInChunks() {
+        // given
+        long now = System.currentTimeMillis() / 1000;
+        long userId = 1;
+        for (int i = 0; i < 5; i++) {
+            refreshTokenRepository.save(new RefreshToken(userId++, UUID.randomUUID().toString(), now - 60));
+        }
+        RefreshToken live1 = refreshTokenRepository.save(new RefreshToken(userId++, UUID.randomUUID().toString(), now + 3600));
+        RefreshToken live2 = refreshTokenRepository.save(new RefreshToken(userId, UUID.randomUUID().toString(), now + 3600));
+        revokedTokenRepository.save(RevokedToken.builder().jti(UUID.randomUUID().toString()).expiresAt(now - 60).build());
+        RevokedToken liveRevoked = revokedTokenRepository.save(RevokedToken.builder()
+                .jti(UUID.randomUUID().toString())
+                .expiresAt(now + 3600)
+                .build());
+
+        ExpiredTokenPurgeJob job = new ExpiredTokenPurgeJob(jdbcTemplate, 2, 2, 0);
+
+        // when
+        job.purge();
+
+        // then: 2행씩 두 번 = 4행만 지웠다
+        assertThat(countExpired("refresh_token", now)).isEqualTo(1);
+        assertThat(countExpired("revoked_token", now)).isZero();
+
+        // when
+        job.purge();
+
+        // then
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(RefreshToken::getId)
+                .containsExactlyInAnyOrder(live1.getId(), live2.getId());
+        assertThat(revokedTokenRepository.findAll())
+                .extracting(RevokedToken::getId)
+                .containsExactly(liveRevoked.getId());
+    }
+
+    private long countExpired(String table, long now) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where expires_at < ?", Long.class, now);
+    }
+}
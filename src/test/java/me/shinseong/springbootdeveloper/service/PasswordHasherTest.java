@@ -0,0 +1,63 @@
+package me.shinseong.springbootdeveloper.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.shinseong.springbootdeveloper.config.metrics.BlogMetrics;
+import me.shinseong.springbootdeveloper.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    @DisplayName("encode(): 스레드와 대기열이 모두 차 있으면 기다리지 않고 PasswordHashingRejectedException(503)으로 실패한다.")
+    @Test
+    void encodeRejectsWhenQueueIsFull() throws Exception {
+        // given: 스레드 1개, 대기열 1칸. 첫 작업은 latch가 열릴 때까지 스레드를 잡고 있는다
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blockingEncoder, new BlogMetrics(new SimpleMeterRegistry()), 1, 1);
+
+        try {
+            CompletableFuture<String> running = hasher.encode("first");
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = hasher.encode("second");
+
+            // when
+            CompletableFuture<String> rejected = hasher.encode("third");
+
+            // then
+            assertThat(rejected).isCompletedExceptionally();
+            assertThat(rejected.handle((hash, e) -> e).get()).isInstanceOf(PasswordHashingRejectedException.class);
+            assertThat(PasswordHashingRejectedException.class.getAnnotation(ResponseStatus.class).value())
+                    .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+            // 자리가 나면 앞서 받은 작업은 정상으로 끝난다
+            release.countDown();
+            assertThat(blockingEncoder.matches("first", running.get(5, TimeUnit.SECONDS))).isTrue();
+            assertThat(blockingEncoder.matches("second", queued.get(5, TimeUnit.SECONDS))).isTrue();
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+}
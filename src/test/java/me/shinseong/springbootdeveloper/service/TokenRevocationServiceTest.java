@@ -0,0 +1,91 @@
+package me.shinseong.springbootdeveloper.service;
+
+import me.shinseong.springbootdeveloper.config.jwt.TokenProvider;
+import me.shinseong.springbootdeveloper.config.jwt.VerifiedTokenCache;
+import me.shinseong.springbootdeveloper.domain.User;
+import me.shinseong.springbootdeveloper.repository.RefreshTokenRepository;
+import me.shinseong.springbootdeveloper.repository.UserRepository;
+import me.shinseong.springbootdeveloper.util.TokenHashUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    @Autowired
+    private TokenProvider tokenProvider;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    //    Given 토큰을 한 번 인증해서 VerifiedTokenCache에 올려 둡니다.
+    //    When 그 토큰의 jti를 폐기합니다.
+    //    Then 캐시에 남아 있어도 다음 인증에서 거부되는지 확인합니다.
+    @DisplayName("revoke(): 이미 캐시된 토큰도 폐기한 뒤에는 인증되지 않는다.")
+    @Test
+    void revokeRejectsCachedToken() {
+        // given
+        User user = saveUser("revoke@gmail.com");
+        String token = tokenProvider.generateToken(user, Duration.ofDays(1));
+        String other = tokenProvider.generateToken(user, Duration.ofDays(1));
+        assertThat(verifiedTokenCache.get(token)).isNotNull();
+        assertThat(verifiedTokenCache.get(other)).isNotNull();
+
+        // when
+        tokenRevocationService.revoke(token);
+
+        // then
+        assertThat(verifiedTokenCache.get(token)).isNull();
+        assertThat(verifiedTokenCache.get(other)).isNotNull(); // jti가 다른 토큰은 그대로
+    }
+
+    //    Given 유저의 액세스 토큰을 인증해 두고 리프레시 토큰을 저장합니다.
+    //    When 유저의 모든 토큰을 폐기합니다.
+    //    Then 그 전에 발급된 액세스 토큰은 거부되고, 리프레시 토큰은 지워져 재발급에 쓸 수 없는지 확인합니다.
+    @DisplayName("revokeAll(): 이전에 발급된 토큰을 모두 거부하고 리프레시 토큰을 지운다.")
+    @Test
+    void revokeAllRejectsOlderTokensAndDeletesRefreshToken() {
+        // given
+        User user = saveUser("revoke-all@gmail.com");
+        User otherUser = saveUser("revoke-all-other@gmail.com");
+        String accessToken = tokenProvider.generateToken(user, Duration.ofDays(1));
+        String otherAccessToken = tokenProvider.generateToken(otherUser, Duration.ofDays(1));
+        String refreshToken = tokenProvider.generateToken(user, Duration.ofDays(14));
+        refreshTokenRepository.upsert(user.getId(), TokenHashUtil.sha256(refreshToken),
+                System.currentTimeMillis() / 1000 + Duration.ofDays(14).toSeconds());
+        assertThat(verifiedTokenCache.get(accessToken)).isNotNull();
+        assertThat(refreshTokenService.findUserIdByRefreshToken(refreshToken)).isEqualTo(user.getId());
+
+        // when
+        tokenRevocationService.revokeAll(user.getId());
+
+        // then
+        assertThat(verifiedTokenCache.get(accessToken)).isNull();
+        assertThat(verifiedTokenCache.get(otherAccessToken)).isNotNull();
+        assertThat(refreshTokenRepository.findByUserId(user.getId())).isEmpty();
+        assertThatThrownBy(() -> refreshTokenService.findUserIdByRefreshToken(refreshToken))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private User saveUser(String email) {
+        userRepository.findByEmail(email).ifPresent(userRepository::delete);
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("test")
+                .build());
+    }
+}
@@ -0,0 +1,29 @@
+package me.shinseong.springbootdeveloper.support;
+
+import me.shinseong.springbootdeveloper.config.sql.SqlStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// "이 호출은 SQL 문장을 최대 N개만 낸다"를 검증한다. MockMvc 호출처럼 같은 스레드에서 도는 코드에만 쓸 수 있다.
+//
+//   SqlAssertions.assertMaxStatements(2, () -> mockMvc.perform(get("/api/articles")));
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, SqlAction<T> action) throws Exception {
+        try (SqlStats stats = SqlStats.open()) {
+            T result = action.run();
+            assertThat(stats.statements())
+                    .as("SQL statements (most repeated %d times: %s)", stats.maxRepeat(), stats.maxRepeatSql())
+                    .isLessThanOrEqualTo(max);
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlAction<T> {
+        T run() throws Exception;
+    }
+}